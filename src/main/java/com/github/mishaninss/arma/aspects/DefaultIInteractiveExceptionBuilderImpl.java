@@ -13,6 +13,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import com.github.mishaninss.arma.html.interfaces.IInteractiveElement;
 import com.github.mishaninss.arma.html.interfaces.INamed;
+import com.github.mishaninss.arma.html.listeners.BrowserConsoleLoggingEventHandler;
+import com.github.mishaninss.arma.html.listeners.LoggingEventHandler;
 import com.github.mishaninss.arma.reporting.IReporter;
 import com.github.mishaninss.arma.reporting.Reporter;
 
@@ -31,6 +33,12 @@ public class DefaultIInteractiveExceptionBuilderImpl implements IInteractiveElem
     protected UiCommonsProperties properties;
     @PageDriver
     protected IPageDriver pageDriver;
+    @Autowired
+    protected LoggingEventHandler loggingEventHandler;
+    @Autowired
+    protected BrowserConsoleLoggingEventHandler browserConsoleLoggingEventHandler;
+    @Autowired
+    protected FailureArtifactsCollector failureArtifactsCollector;
 
     @Override
     public RuntimeException buildException(IInteractiveElement element, String action, Exception ex) {
@@ -57,11 +65,10 @@ public class DefaultIInteractiveExceptionBuilderImpl implements IInteractiveElem
         if (cause instanceof SessionLostException) {
             return clearStacktrace(new SessionLostException(sb.toString(), cause));
         } else {
+            loggingEventHandler.flush();
             if (browserDriver.isBrowserStarted()) {
-                reporter.attachScreenshot(pageDriver.takeScreenshot());
-                if (properties.driver().areConsoleLogsEnabled()) {
-                    reporter.attachText(StringUtils.join(browserDriver.getLogEntries("browser"), "\n"), "Browser logs");
-                }
+                flushBrowserConsole();
+                failureArtifactsCollector.capture();
                 sb.append("\nURL: ").append(pageDriver.getCurrentUrl());
                 sb.append("\nЗаголовок страницы: ").append(pageDriver.getPageTitle());
             }
@@ -70,6 +77,18 @@ public class DefaultIInteractiveExceptionBuilderImpl implements IInteractiveElem
         }
     }
 
+    /**
+     * Sends buffered console messages, so browser logs attached to a failure contain the steps,
+     * which led to it
+     */
+    protected void flushBrowserConsole() {
+        try {
+            browserConsoleLoggingEventHandler.flush();
+        } catch (Exception ignored) {
+            // the original failure is reported anyway
+        }
+    }
+
     @SuppressWarnings("ThrowableNotThrown")
     protected  <T extends Throwable> T clearStacktrace(T ex) {
         String[] stacktraceWhitelist = properties.framework().stackTraceWhiteList;
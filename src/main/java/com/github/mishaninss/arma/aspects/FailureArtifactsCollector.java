@@ -0,0 +1,166 @@
+package com.github.mishaninss.arma.aspects;
+
+import com.github.mishaninss.arma.data.UiCommonsProperties;
+import com.github.mishaninss.arma.reporting.IReporter;
+import com.github.mishaninss.arma.reporting.Reporter;
+import com.github.mishaninss.arma.uidriver.annotations.BrowserDriver;
+import com.github.mishaninss.arma.uidriver.annotations.PageDriver;
+import com.github.mishaninss.arma.uidriver.interfaces.IBrowserDriver;
+import com.github.mishaninss.arma.uidriver.interfaces.ILogEntry;
+import com.github.mishaninss.arma.uidriver.interfaces.IPageDriver;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Collects a screenshot and browser logs when an interaction fails. Only raw data are taken from a
+ * browser on the calling thread. Within a failure sequence, i.e. failures of a thread without a
+ * successful interaction between them, a screenshot identical to the previously attached one is not
+ * attached again, a short note is attached instead, so every failure still has its own artifact. A
+ * successful interaction ends the sequence, see {@link #endFailureSequence()}, so a failure of
+ * another test always gets its own screenshot. Screenshots are compared by SHA-256 digests, so only
+ * a digest of the previous screenshot is kept.
+ * Only browser log entries written since the previous capture are attached, limited by
+ * {@link UiCommonsProperties.Framework#FAILURE_LOGS_LIMIT}.
+ * <p>
+ * If {@link UiCommonsProperties.Framework#FAILURE_ARTIFACTS_ASYNC} is enabled, artifacts are
+ * formatted and attached to the reporter on a background thread. This requires a reporter, which
+ * doesn't bind attachments to the current thread
+ */
+@Component
+public class FailureArtifactsCollector implements DisposableBean {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(FailureArtifactsCollector.class);
+  private static final String BROWSER_LOGS = "browser";
+  private static final String SAME_SCREENSHOT = "The page looks the same as on the previous screenshot";
+  private static final String DIGEST_ALGORITHM = "SHA-256";
+  private static final ThreadLocal<boolean[]> IN_FAILURE_SEQUENCE = ThreadLocal
+      .withInitial(() -> new boolean[1]);
+  private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+  @BrowserDriver
+  private IBrowserDriver browserDriver;
+  @PageDriver
+  private IPageDriver pageDriver;
+  @Reporter
+  private IReporter reporter;
+  @Autowired
+  private UiCommonsProperties properties;
+
+  private byte[] lastScreenshotDigest;
+  private long lastLogTimestamp = Long.MIN_VALUE;
+  private ExecutorService executor;
+
+  /**
+   * Takes a screenshot and browser logs of the current page and attaches them to the reporter
+   */
+  public synchronized void capture() {
+    byte[] screenshot = pageDriver.takeScreenshot();
+    boolean[] inFailureSequence = IN_FAILURE_SEQUENCE.get();
+    boolean sameScreenshot = false;
+    if (screenshot != null) {
+      byte[] digest = digest(screenshot);
+      sameScreenshot = inFailureSequence[0] && Arrays.equals(digest, lastScreenshotDigest);
+      lastScreenshotDigest = digest;
+    }
+    inFailureSequence[0] = true;
+    List<ILogEntry> logEntries = null;
+    if (properties.driver().areConsoleLogsEnabled()) {
+      logEntries = getNewLogEntries();
+    }
+    Runnable attachment = createAttachment(sameScreenshot ? null : screenshot, sameScreenshot,
+        logEntries);
+    if (properties.framework().failureArtifactsAsync) {
+      getExecutor().execute(attachment);
+    } else {
+      attachment.run();
+    }
+  }
+
+  /**
+   * Ends a failure sequence of the current thread, e.g. when an interaction succeeds. The next
+   * failure gets a screenshot, even if the page has not changed since the previous failure
+   */
+  public static void endFailureSequence() {
+    IN_FAILURE_SEQUENCE.get()[0] = false;
+  }
+
+  private List<ILogEntry> getNewLogEntries() {
+    List<ILogEntry> entries = new ArrayList<>();
+    for (ILogEntry entry : browserDriver.getLogEntries(BROWSER_LOGS)) {
+      if (entry.getTimestamp() >= lastLogTimestamp) {
+        entries.add(entry);
+      }
+    }
+    if (!entries.isEmpty()) {
+      lastLogTimestamp = entries.get(entries.size() - 1).getTimestamp() + 1;
+    }
+    int limit = properties.framework().failureLogsLimit;
+    if (limit > 0 && entries.size() > limit) {
+      return entries.subList(entries.size() - limit, entries.size());
+    }
+    return entries;
+  }
+
+  private static byte[] digest(byte[] screenshot) {
+    try {
+      return MessageDigest.getInstance(DIGEST_ALGORITHM).digest(screenshot);
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  private Runnable createAttachment(byte[] screenshot, boolean sameScreenshot,
+      List<ILogEntry> logEntries) {
+    return () -> {
+      try {
+        if (screenshot != null) {
+          reporter.attachScreenshot(screenshot);
+        } else if (sameScreenshot) {
+          reporter.attachText(SAME_SCREENSHOT, "Screenshot");
+        }
+        if (logEntries != null) {
+          reporter.attachText(StringUtils.join(logEntries, "\n"), "Browser logs");
+        }
+      } catch (Exception ex) {
+        LOGGER.warn("Could not attach failure artifacts", ex);
+      }
+    };
+  }
+
+  private ExecutorService getExecutor() {
+    if (executor == null) {
+      executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "arma-failure-artifacts");
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+    return executor;
+  }
+
+  /**
+   * Waits until all artifacts are attached
+   */
+  @Override
+  public synchronized void destroy() throws InterruptedException {
+    if (executor != null) {
+      executor.shutdown();
+      if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        LOGGER.warn("Failure artifacts were not attached in {} seconds", SHUTDOWN_TIMEOUT_SECONDS);
+      }
+      executor = null;
+    }
+  }
+}
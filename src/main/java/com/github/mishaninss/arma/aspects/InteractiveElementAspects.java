@@ -1,22 +1,22 @@
 package com.github.mishaninss.arma.aspects;
 
+import com.github.mishaninss.arma.exceptions.InteractionException;
 import com.github.mishaninss.arma.html.interfaces.IInteractiveElement;
 import com.github.mishaninss.arma.html.interfaces.IListenableElement;
+import com.github.mishaninss.arma.html.listeners.ActionDescription;
 import com.github.mishaninss.arma.html.listeners.ElementEvent;
 import com.github.mishaninss.arma.html.listeners.FiresEvent;
 import com.github.mishaninss.arma.html.listeners.IElementEventHandler;
+import com.github.mishaninss.arma.metrics.ArmaMetrics;
+import com.github.mishaninss.arma.metrics.ListenerMetrics;
+import com.github.mishaninss.arma.metrics.ListenerMetrics.Phase;
 import com.github.mishaninss.arma.uidriver.interfaces.ILocatable;
 import com.github.mishaninss.arma.uidriver.interfaces.ILocatableWrapper;
-import java.util.Hashtable;
-import java.util.Iterator;
-import java.util.LinkedHashSet;
-import java.util.LinkedList;
-import java.util.Map;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
-import org.apache.commons.collections4.CollectionUtils;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import java.util.Arrays;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.text.StringSubstitutor;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.Signature;
 import org.aspectj.lang.annotation.AfterReturning;
@@ -32,12 +32,32 @@ import org.springframework.context.ApplicationContext;
 @Aspect
 public class InteractiveElementAspects {
 
-  private static final Map<Signature, String> ACTION_NAMES = new Hashtable<>(); //NOSONAR
+  /**
+   * Plans of event firing methods per signature of a call site. Signatures are referenced weakly,
+   * so a plan doesn't prevent a class, which calls the method, from being unloaded
+   */
+  private static final LoadingCache<Signature, DispatchPlan> DISPATCH_PLANS = CacheBuilder
+      .newBuilder()
+      .weakKeys()
+      .build(CacheLoader.from(DispatchPlan::new));
+  private static final ThreadLocal<CallStarts> CALL_STARTS = ThreadLocal.withInitial(CallStarts::new);
+  private static final ThreadLocal<MetricsBinding> METRICS_BINDINGS = new ThreadLocal<>();
+  /**
+   * Handler classes, which override the String overloads of event methods below the
+   * {@link ActionDescription} overloads, e.g. custom subclasses of built-in handlers. Such handlers
+   * are called through the String overloads, so their overrides are not bypassed
+   */
+  private static final ClassValue<boolean[]> STRING_OVERLOADS = new ClassValue<>() {
+    @Override
+    protected boolean[] computeValue(Class<?> type) {
+      return new boolean[]{overridesStringOverload(type, "beforeEvent"),
+          overridesStringOverload(type, "afterEvent")};
+    }
+  };
 
   @Autowired
   private ApplicationContext applicationContext;
 
-
   @Pointcut("call(@com.github.mishaninss.arma.html.listeners.FiresEvent * * (..))")
   public void firesEvent() {
     //NOSONAR
@@ -50,92 +70,161 @@ public class InteractiveElementAspects {
 
   @Before("firesEvent() && !withinCodeFiresEvent()")
   public void adviceBeforeFireEvent(JoinPoint joinPoint) {
-    Object target = joinPoint.getTarget();
-    if (target != null) {
-      if (target instanceof IListenableElement && target instanceof IInteractiveElement) {
-        executeBeforeEvents((IInteractiveElement) target, joinPoint);
-      } else if (target instanceof ILocatableWrapper) {
-        target = ((ILocatableWrapper) target).getElement();
-        if (target instanceof IListenableElement && target instanceof IInteractiveElement) {
-          executeBeforeEvents((IInteractiveElement) target, joinPoint);
-        }
+    IInteractiveElement element = getListenableElement(joinPoint.getTarget());
+    if (element != null) {
+      ListenerMetrics listenerMetrics = getListenerMetrics();
+      CallStarts callStarts = listenerMetrics != null ? CALL_STARTS.get() : null;
+      if (callStarts != null) {
+        callStarts.push();
+      }
+      executeBeforeEvents(element, joinPoint, listenerMetrics);
+      if (callStarts != null) {
+        callStarts.start();
       }
     }
   }
 
-  private String getActionName(Signature signature, String message, Object[] args) {
-    if (StringUtils.isNotBlank(message)) {
-      if (args.length > 0 && message.contains("{")) {
-        Map<String, String> values = IntStream.range(0, args.length).boxed()
-            .collect(Collectors.<Integer, String, String>toMap(
-                i -> String.valueOf(i + 1),
-                i -> String.valueOf(args[i])
-            ));
-        message = new StringSubstitutor(values).replace(message);
+  private static IInteractiveElement getListenableElement(Object target) {
+    if (isListenableElement(target)) {
+      return (IInteractiveElement) target;
+    }
+    if (target instanceof ILocatableWrapper) {
+      ILocatable element = ((ILocatableWrapper) target).getElement();
+      if (isListenableElement(element)) {
+        return (IInteractiveElement) element;
       }
-      return message;
-    } else {
-      return ACTION_NAMES.computeIfAbsent(signature, sign ->
-          StringUtils.join(StringUtils.splitByCharacterTypeCamelCase(sign.getName()), " ")
-              .toLowerCase()
-              .trim());
     }
+    return null;
+  }
+
+  private static boolean isListenableElement(Object target) {
+    return target instanceof IListenableElement && target instanceof IInteractiveElement;
+  }
+
+  static DispatchPlan getDispatchPlan(Signature signature) {
+    return DISPATCH_PLANS.getUnchecked(signature);
+  }
+
+  /**
+   * Returns listener metrics of the context bound to the current thread or null if they are
+   * disabled. The aspect is shared between contexts, so metrics are not taken from the context the
+   * aspect was configured by
+   */
+  private static ListenerMetrics getListenerMetrics() {
+    ArmaMetrics metrics = ArmaMetrics.get();
+    if (metrics == null) {
+      return null;
+    }
+    MetricsBinding binding = METRICS_BINDINGS.get();
+    if (binding == null || binding.metrics != metrics) {
+      binding = new MetricsBinding(metrics,
+          metrics.areListenerMetricsEnabled() ? metrics.listeners() : null);
+      METRICS_BINDINGS.set(binding);
+    }
+    return binding.listeners;
   }
 
-  private void executeBeforeEvents(IInteractiveElement element, JoinPoint joinPoint) {
-    Object[] args = joinPoint.getArgs();
-    FiresEvent firesEvent = ((MethodSignature) joinPoint.getSignature()).getMethod()
-        .getAnnotation(FiresEvent.class);
-    ElementEvent event = firesEvent.value();
-    LinkedHashSet<IElementEventHandler> listeners = ((IListenableElement) element)
-        .getEventListeners(event);
-    if (CollectionUtils.isNotEmpty(listeners)) {
-      listeners.forEach(listener -> listener.beforeEvent(element, event,
-          getActionName(joinPoint.getSignature(), firesEvent.message(), joinPoint.getArgs()),
-          args));
+  private void executeBeforeEvents(IInteractiveElement element, JoinPoint joinPoint,
+      ListenerMetrics listenerMetrics) {
+    DispatchPlan plan = getDispatchPlan(joinPoint.getSignature());
+    IElementEventHandler[] listeners = ((IListenableElement) element)
+        .getEventListenersArray(plan.event);
+    if (listeners.length > 0) {
+      Object[] args = joinPoint.getArgs();
+      ActionDescription action = plan.getDescription(args);
+      for (IElementEventHandler listener : listeners) {
+        if (listenerMetrics == null) {
+          fireBeforeEvent(listener, element, plan.event, action, args);
+        } else {
+          long start = System.nanoTime();
+          fireBeforeEvent(listener, element, plan.event, action, args);
+          listenerMetrics.recordHandler(plan.event, listener.getClass(), Phase.BEFORE,
+              System.nanoTime() - start);
+        }
+      }
     }
   }
 
   @AfterReturning(value = "firesEvent() && !withinCodeFiresEvent()", returning = "ret")
   public void adviceAfterFireEvent(Object ret, JoinPoint joinPoint) {
-    Object target = joinPoint.getTarget();
-    if (target != null) {
-      if (target instanceof IListenableElement && !((IListenableElement) target)
-          .areAfterEventsSupressed() && target instanceof IInteractiveElement) {
-        executeAfterEvents((IInteractiveElement) target, joinPoint, ret);
-      } else if (target instanceof ILocatableWrapper) {
-        target = ((ILocatableWrapper) target).getElement();
-        if (target instanceof IListenableElement && !((IListenableElement) target)
-            .areAfterEventsSupressed() && target instanceof IInteractiveElement) {
-          executeAfterEvents((IInteractiveElement) target, joinPoint, ret);
-        }
+    FailureArtifactsCollector.endFailureSequence();
+    IInteractiveElement element = getListenableElement(joinPoint.getTarget());
+    if (element == null) {
+      return;
+    }
+    ListenerMetrics listenerMetrics = getListenerMetrics();
+    if (listenerMetrics != null) {
+      long callStart = CALL_STARTS.get().pop();
+      if (callStart != 0) {
+        listenerMetrics.recordCall(getDispatchPlan(joinPoint.getSignature()).event,
+            System.nanoTime() - callStart);
       }
     }
+    if (!((IListenableElement) element).areAfterEventsSupressed()) {
+      executeAfterEvents(element, joinPoint, ret, listenerMetrics);
+    }
   }
 
-  private void executeAfterEvents(IInteractiveElement element, JoinPoint joinPoint, Object ret) {
-    var firesEvent = ((MethodSignature) joinPoint.getSignature()).getMethod()
-        .getAnnotation(FiresEvent.class);
-    ElementEvent event = firesEvent.value();
-    LinkedList<IElementEventHandler> listeners = new LinkedList<>(
-        IListenableElement.getListenersIfApplicable(element, event));
-    if (CollectionUtils.isNotEmpty(listeners)) {
-      Iterator<IElementEventHandler> iterator = listeners.descendingIterator();
-      while (iterator.hasNext()) {
+  private void executeAfterEvents(IInteractiveElement element, JoinPoint joinPoint, Object ret,
+      ListenerMetrics listenerMetrics) {
+    DispatchPlan plan = getDispatchPlan(joinPoint.getSignature());
+    IElementEventHandler[] listeners = ((IListenableElement) element)
+        .getReversedEventListenersArray(plan.event);
+    if (listeners.length > 0) {
+      ActionDescription action = plan
+          .getDescription(plan.needsArgs ? joinPoint.getArgs() : null);
+      Object[] results = {ret};
+      for (IElementEventHandler listener : listeners) {
+        long start = listenerMetrics != null ? System.nanoTime() : 0;
         try {
-          iterator.next().afterEvent(element, event,
-              getActionName(joinPoint.getSignature(), firesEvent.message(), joinPoint.getArgs()),
-              ret);
+          fireAfterEvent(listener, element, plan.event, action, results);
         } catch (Exception ex) {
 
         }
+        if (listenerMetrics != null) {
+          listenerMetrics.recordHandler(plan.event, listener.getClass(), Phase.AFTER,
+              System.nanoTime() - start);
+        }
       }
     }
   }
 
+  private static void fireBeforeEvent(IElementEventHandler listener, IInteractiveElement element,
+      ElementEvent event, ActionDescription action, Object[] args) {
+    if (STRING_OVERLOADS.get(listener.getClass())[0]) {
+      listener.beforeEvent(element, event, action.get(), args);
+    } else {
+      listener.beforeEvent(element, event, action, args);
+    }
+  }
+
+  private static void fireAfterEvent(IElementEventHandler listener, IInteractiveElement element,
+      ElementEvent event, ActionDescription action, Object[] args) {
+    if (STRING_OVERLOADS.get(listener.getClass())[1]) {
+      listener.afterEvent(element, event, action.get(), args);
+    } else {
+      listener.afterEvent(element, event, action, args);
+    }
+  }
+
+  private static boolean overridesStringOverload(Class<?> type, String methodName) {
+    try {
+      Class<?> stringOwner = type.getMethod(methodName, IInteractiveElement.class,
+          ElementEvent.class, String.class, Object[].class).getDeclaringClass();
+      Class<?> actionOwner = type.getMethod(methodName, IInteractiveElement.class,
+          ElementEvent.class, ActionDescription.class, Object[].class).getDeclaringClass();
+      return stringOwner != actionOwner && actionOwner.isAssignableFrom(stringOwner);
+    } catch (NoSuchMethodException ex) {
+      return false;
+    }
+  }
+
   @AfterThrowing(value = "firesEvent() && !withinCodeFiresEvent()", throwing = "e")
   public void adviceAfterThrowingFromEventFiringMethod(Exception e, JoinPoint joinPoint) {
     Object target = joinPoint.getTarget();
+    if (getListenableElement(target) != null && getListenerMetrics() != null) {
+      CALL_STARTS.get().pop();
+    }
     IInteractiveElement element = null;
     if (target instanceof IInteractiveElement) {
       element = (IInteractiveElement) target;
@@ -146,15 +235,102 @@ public class InteractiveElementAspects {
       }
     }
     if (element != null) {
-      var firesEvent = ((MethodSignature) joinPoint.getSignature()).getMethod()
-          .getAnnotation(FiresEvent.class);
-      ElementEvent event = firesEvent.value();
+      ElementEvent event = getDispatchPlan(joinPoint.getSignature()).event;
       rethrowException(element, event.getText(), e);
     }
   }
 
   private void rethrowException(IInteractiveElement element, String action, Exception ex) {
+    if (QuietInteractions.isActive()) {
+      ArmaMetrics metrics = ArmaMetrics.get();
+      if (metrics != null) {
+        metrics.recordAvoidedCapture();
+      }
+      throw ex instanceof RuntimeException ? (RuntimeException) ex
+          : new InteractionException(action, ex);
+    }
     throw applicationContext.getBean("exceptionBuilder", IInteractiveElementExceptionBuilder.class)
         .buildException(element, action, ex);
   }
+
+  /**
+   * Listener metrics of the context bound to a thread
+   */
+  private static final class MetricsBinding {
+
+    private final ArmaMetrics metrics;
+    private final ListenerMetrics listeners;
+
+    private MetricsBinding(ArmaMetrics metrics, ListenerMetrics listeners) {
+      this.metrics = metrics;
+      this.listeners = listeners;
+    }
+  }
+
+  /**
+   * Start times of event firing calls of a thread. Calls can be nested, e.g. when a listener
+   * interacts with another element, so every call pushes its own slot before listeners are
+   * notified, and the slot is popped when the call returns or throws, also if a listener throws
+   */
+  private static final class CallStarts {
+
+    private long[] starts = new long[8];
+    private int size;
+
+    private void push() {
+      if (size == starts.length) {
+        starts = Arrays.copyOf(starts, size * 2);
+      }
+      starts[size++] = 0;
+    }
+
+    private void start() {
+      starts[size - 1] = System.nanoTime();
+    }
+
+    private long pop() {
+      return size > 0 ? starts[--size] : 0;
+    }
+  }
+
+  /**
+   * Resolved parameters of an event firing method: the event, and the action description or the
+   * message template, if the description depends on arguments of a call
+   */
+  static final class DispatchPlan {
+
+    final ElementEvent event;
+    private final String message;
+    private final ActionDescription description;
+    private final boolean needsArgs;
+
+    private DispatchPlan(Signature signature) {
+      FiresEvent firesEvent = ((MethodSignature) signature).getMethod()
+          .getAnnotation(FiresEvent.class);
+      event = firesEvent.value();
+      if (StringUtils.isNotBlank(firesEvent.message())) {
+        message = firesEvent.message();
+        needsArgs = message.contains("{");
+        description = ActionDescription.of(message);
+      } else {
+        message = null;
+        needsArgs = false;
+        description = ActionDescription.of(StringUtils
+            .join(StringUtils.splitByCharacterTypeCamelCase(signature.getName()), " ")
+            .toLowerCase()
+            .trim());
+      }
+    }
+
+    /**
+     * Returns a description of a call. A description, which depends on arguments, is formatted
+     * only if a listener reads it
+     */
+    ActionDescription getDescription(Object[] args) {
+      if (!needsArgs || args == null || args.length == 0) {
+        return description;
+      }
+      return ActionDescription.of(message, args);
+    }
+  }
 }
@@ -0,0 +1,64 @@
+package com.github.mishaninss.arma.aspects;
+
+import com.github.mishaninss.arma.html.containers.ContainersFactory;
+import com.github.mishaninss.arma.html.listeners.BrowserConsoleLoggingEventHandler;
+import com.github.mishaninss.arma.html.listeners.LoggingEventHandler;
+import com.github.mishaninss.arma.uidriver.ElementHandleCache;
+import org.aspectj.lang.annotation.After;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.context.ApplicationContext;
+
+/**
+ * Starts a new document generation of {@link ElementHandleCache} and drops unsent messages of
+ * {@link BrowserConsoleLoggingEventHandler} after calls, which change the current document:
+ * navigation, frame and window switches and clearing of the elements cache. Buffered interactions of
+ * {@link LoggingEventHandler} are discarded when a new URL is opened, which starts a new flow, e.g. a
+ * new scenario, so a later failure doesn't report interactions of passed flows. The aspect is shared
+ * between contexts, so beans are taken from the context bound to the current thread, which is the
+ * context of the session the call belongs to
+ */
+@SuppressWarnings("unused")
+@Aspect
+public class PageDriverAspects {
+
+  @Pointcut("call(* com.github.mishaninss.arma.uidriver.interfaces.IPageDriver+.goToUrl(..))"
+      + " || call(* com.github.mishaninss.arma.uidriver.interfaces.IPageDriver+.refreshPage(..))"
+      + " || call(* com.github.mishaninss.arma.uidriver.interfaces.IPageDriver+.navigateBack(..))"
+      + " || call(* com.github.mishaninss.arma.uidriver.interfaces.IPageDriver+.switchToFrame(..))"
+      + " || call(* com.github.mishaninss.arma.uidriver.interfaces.IPageDriver+.switchToDefaultContent(..))")
+  public void changesPage() {
+    //NOSONAR
+  }
+
+  @Pointcut("call(* com.github.mishaninss.arma.uidriver.interfaces.IPageDriver+.goToUrl(..))")
+  public void opensUrl() {
+    //NOSONAR
+  }
+
+  @Pointcut("call(* com.github.mishaninss.arma.uidriver.interfaces.IBrowserDriver+.switchToWindow(..))"
+      + " || call(* com.github.mishaninss.arma.uidriver.interfaces.IBrowserDriver+.switchToLastWindow(..))"
+      + " || call(* com.github.mishaninss.arma.uidriver.interfaces.IBrowserDriver+.closeCurrentWindow(..))"
+      + " || call(* com.github.mishaninss.arma.uidriver.interfaces.IElementDriver+.clearCache(..))")
+  public void changesWindow() {
+    //NOSONAR
+  }
+
+  @After("changesPage() || changesWindow()")
+  public void adviceAfterDocumentChange() {
+    ContainersFactory containersFactory = ContainersFactory.get();
+    if (containersFactory != null) {
+      ApplicationContext applicationContext = containersFactory.getApplicationContext();
+      applicationContext.getBean(ElementHandleCache.class).nextGeneration();
+      applicationContext.getBean(BrowserConsoleLoggingEventHandler.class).discard();
+    }
+  }
+
+  @After("opensUrl()")
+  public void adviceAfterOpenUrl() {
+    ContainersFactory containersFactory = ContainersFactory.get();
+    if (containersFactory != null) {
+      containersFactory.getApplicationContext().getBean(LoggingEventHandler.class).clear();
+    }
+  }
+}
@@ -0,0 +1,47 @@
+package com.github.mishaninss.arma.aspects;
+
+import java.util.function.Supplier;
+
+/**
+ * Scope of interactions, which are expected to fail, e.g. reading of optional elements. When an
+ * interaction fails within the scope, the original exception is thrown without collecting a
+ * screenshot, browser logs and other artifacts, since the exception is going to be handled by the
+ * caller. Scopes are bound to the current thread and can be nested
+ */
+public final class QuietInteractions {
+
+  private static final ThreadLocal<int[]> DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+
+  private QuietInteractions() {
+  }
+
+  /**
+   * Calls a given supplier within a quiet scope
+   */
+  public static <T> T call(Supplier<T> supplier) {
+    int[] depth = DEPTH.get();
+    depth[0]++;
+    try {
+      return supplier.get();
+    } finally {
+      depth[0]--;
+    }
+  }
+
+  /**
+   * Runs a given runnable within a quiet scope
+   */
+  public static void run(Runnable runnable) {
+    call(() -> {
+      runnable.run();
+      return null;
+    });
+  }
+
+  /**
+   * Indicates if the current thread is within a quiet scope
+   */
+  public static boolean isActive() {
+    return DEPTH.get()[0] > 0;
+  }
+}
@@ -1,6 +1,7 @@
 package com.github.mishaninss.arma.config;
 
 import com.github.mishaninss.arma.aspects.InteractiveElementAspects;
+import com.github.mishaninss.arma.aspects.PageDriverAspects;
 import com.github.mishaninss.arma.html.containers.DefaultEventHandlersProviderImpl;
 import com.github.mishaninss.arma.html.containers.interfaces.IDefaultEventHandlersProvider;
 import org.aspectj.lang.Aspects;
@@ -18,6 +19,11 @@ public class UiCommonsConfig {
     return Aspects.aspectOf(InteractiveElementAspects.class);
   }
 
+  @Bean
+  public PageDriverAspects pageDriverAspects() {
+    return Aspects.aspectOf(PageDriverAspects.class);
+  }
+
   @Bean
   @Profile({"!ios & !android"})
   public IDefaultEventHandlersProvider defaultEventHandlersProvider() {
@@ -2,6 +2,7 @@ package com.github.mishaninss.arma.data;
 
 import com.github.mishaninss.arma.reporting.IReporter;
 import com.github.mishaninss.arma.reporting.Reporter;
+import com.github.mishaninss.arma.uidriver.LocatorType;
 import com.google.common.collect.Sets;
 import java.util.Arrays;
 import java.util.Objects;
@@ -94,6 +95,21 @@ public class UiCommonsProperties implements InitializingBean, DisposableBean {
     INSTANCES.remove();
   }
 
+  /**
+   * Makes this instance available from {@link #get()} in the current thread, e.g. in a worker
+   * thread, which initializes beans of the context
+   */
+  public void bindToCurrentThread() {
+    INSTANCES.set(this);
+  }
+
+  /**
+   * Removes an instance bound to the current thread
+   */
+  public static void unbindFromCurrentThread() {
+    INSTANCES.remove();
+  }
+
   public static UiCommonsProperties get() {
     return INSTANCES.get();
   }
@@ -192,6 +208,15 @@ public class UiCommonsProperties implements InitializingBean, DisposableBean {
     public static final String DEBUG_MODE = "arma.framework.debug.mode";
     public static final String SCREENSHOTS_DIR = "arma.framework.screenshots.dir";
     public static final String STACKTRACE_WHITE_LIST_PROPERTY = "arma.framework.stacktrace.whitelist";
+    public static final String LOCATORS_BUNDLE = "arma.framework.locators.bundle";
+    public static final String METRICS_DIR = "arma.framework.metrics.dir";
+    public static final String PAGE_STABILITY_TRACKING = "arma.framework.page.stability.tracking";
+    public static final String WINDOWS_POLL_INTERVAL = "arma.framework.windows.poll.interval";
+    public static final String INTERACTIONS_LOG_BUFFER = "arma.framework.interactions.log.buffer";
+    public static final String FAILURE_LOGS_LIMIT = "arma.framework.failure.logs.limit";
+    public static final String FAILURE_ARTIFACTS_ASYNC = "arma.framework.failure.artifacts.async";
+    public static final String LISTENER_METRICS = "arma.framework.listener.metrics";
+    public static final String XPATH_VALIDATION = "arma.framework.xpath.validation";
 
     @Value("#{'${" + DEFAULT_EVENT_HANDLERS + ":}'.split(',')}")
     public Set<String> defaultEventHandlers;
@@ -208,6 +233,69 @@ public class UiCommonsProperties implements InitializingBean, DisposableBean {
     @Value("${" + SCREENSHOTS_DIR + ":./target}")
     public String screenshotsDir;
 
+    /**
+     * Path to a precompiled locator bundle, see {@link com.github.mishaninss.arma.html.containers.locators.LocatorBundleCompiler}
+     */
+    @Value("${" + LOCATORS_BUNDLE + ":}")
+    public String locatorsBundle;
+
+    /**
+     * Directory, where metrics of a context are dumped as JSON when the context is closed. Metrics
+     * are not dumped if a directory is not specified
+     */
+    @Value("${" + METRICS_DIR + ":}")
+    public String metricsDir;
+
+    /**
+     * Enables skipping of waits for a page update, when a page has not changed since the last
+     * wait, see {@link com.github.mishaninss.arma.uidriver.PageStabilityTracker}
+     */
+    @Value("${" + PAGE_STABILITY_TRACKING + ":false}")
+    public boolean pageStabilityTracking;
+
+    /**
+     * Interval in milliseconds, after which window handles are requested again even if no action,
+     * which can open a window, was performed. A negative value disables polling
+     */
+    @Value("${" + WINDOWS_POLL_INTERVAL + ":5000}")
+    public long windowsPollInterval;
+
+    /**
+     * Number of last interactions, which are kept in memory and reported only when an interaction
+     * fails. If zero, interactions are reported immediately. A negative value disables reporting of
+     * interactions, so no messages are built for them
+     */
+    @Value("${" + INTERACTIONS_LOG_BUFFER + ":0}")
+    public int interactionsLogBuffer;
+
+    /**
+     * Max number of browser log entries attached on a failure. If not positive, which is the
+     * default, all entries written since the previous failure are attached
+     */
+    @Value("${" + FAILURE_LOGS_LIMIT + ":0}")
+    public int failureLogsLimit;
+
+    /**
+     * Enables attaching of failure artifacts to the reporter on a background thread, see
+     * {@link com.github.mishaninss.arma.aspects.FailureArtifactsCollector}
+     */
+    @Value("${" + FAILURE_ARTIFACTS_ASYNC + ":false}")
+    public boolean failureArtifactsAsync;
+
+    /**
+     * Enables recording of latencies of element event handlers, see
+     * {@link com.github.mishaninss.arma.metrics.ListenerMetrics}
+     */
+    @Value("${" + LISTENER_METRICS + ":false}")
+    public boolean listenerMetrics;
+
+    /**
+     * Mode of validation of XPath locators: CACHED, ASYNC or OFF, see
+     * {@link com.github.mishaninss.arma.uidriver.LocatorType.XpathValidation}
+     */
+    @Value("${" + XPATH_VALIDATION + ":CACHED}")
+    public LocatorType.XpathValidation xpathValidation;
+
     public String[] stackTraceWhiteList;
 
     public Framework addPackageToStacktraceWhiteList(String packageName) {
@@ -249,6 +249,11 @@ public class IndexedElement<T extends IInteractiveElement> implements IInteracti
     return wrappedElement.useContextLookup();
   }
 
+  @Override
+  public int getModificationCount() {
+    return wrappedElement.getModificationCount();
+  }
+
   @Override
   public INamed setName(String name) {
     INamed.setNameIfApplicable(wrappedElement, name);
@@ -7,6 +7,7 @@ import com.github.mishaninss.arma.html.elements.ElementBuilder;
 import com.github.mishaninss.arma.html.interfaces.IInteractiveContainer;
 import com.github.mishaninss.arma.html.interfaces.IInteractiveElement;
 import com.github.mishaninss.arma.html.interfaces.INamed;
+import com.github.mishaninss.arma.uidriver.Locator;
 import com.github.mishaninss.arma.reporting.IReporter;
 import com.github.mishaninss.arma.reporting.Reporter;
 import com.github.mishaninss.arma.uidriver.interfaces.ILocatable;
@@ -35,7 +36,7 @@ public class TemplatedElement<T extends IInteractiveElement> implements IInterac
     public T resolveTemplate(Object... args) {
         return resolvedElements.computeIfAbsent(args, key -> {
             T clone = elementBuilder.clone(element);
-            clone.setLocator(String.format(clone.getLocator(), key));
+            clone.setLocator(Locator.parse(clone.getLocator()).format(key).toString());
             INamed.setNameIfApplicable(clone, INamed.getNameIfApplicable(clone).trim() + " [" + StringUtils.join(key, "; ") + "]");
             return clone;
         });
@@ -139,6 +140,11 @@ public class TemplatedElement<T extends IInteractiveElement> implements IInterac
         return element.useContextLookup();
     }
 
+    @Override
+    public int getModificationCount() {
+        return element.getModificationCount();
+    }
+
     @Override
     public INamed setName(String name) {
         INamed.setNameIfApplicable(element, name);
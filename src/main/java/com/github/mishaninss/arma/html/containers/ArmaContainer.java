@@ -1,5 +1,6 @@
 package com.github.mishaninss.arma.html.containers;
 
+import com.github.mishaninss.arma.aspects.QuietInteractions;
 import com.github.mishaninss.arma.data.DataObject;
 import com.github.mishaninss.arma.data.DataObjectUtils;
 import com.github.mishaninss.arma.html.composites.IndexedElementBuilder;
@@ -13,6 +14,8 @@ import com.github.mishaninss.arma.html.elements.interfaces.IEditable;
 import com.github.mishaninss.arma.html.elements.interfaces.IReadable;
 import com.github.mishaninss.arma.html.interfaces.IInteractiveElement;
 import com.github.mishaninss.arma.html.interfaces.INamed;
+import com.github.mishaninss.arma.uidriver.LocatorPath;
+import com.github.mishaninss.arma.uidriver.PageStabilityTracker;
 import com.github.mishaninss.arma.uidriver.annotations.ElementDriver;
 import com.github.mishaninss.arma.uidriver.annotations.WaitingDriver;
 import com.github.mishaninss.arma.uidriver.interfaces.IContainerWaitingDriver;
@@ -56,6 +59,8 @@ public class ArmaContainer implements IBatchElementsContainer, INamed, IHaveUrl,
   protected ApplicationContext applicationContext;
   @WaitingDriver
   protected IWaitingDriver waitingDriver;
+  @Autowired
+  protected PageStabilityTracker pageStabilityTracker;
   @ElementDriver
   protected IElementDriver elementDriver;
 
@@ -70,8 +75,10 @@ public class ArmaContainer implements IBatchElementsContainer, INamed, IHaveUrl,
   protected String locator;
   protected boolean contextLookup = true;
   protected ILocatable context;
-  protected Class<ILocatable> contextClass;
+  protected Class<? extends ILocatable> contextClass;
   protected String url;
+  private transient LocatorPath locatorPath;
+  private transient int modificationCount;
 
   private static final String EXCEPTION_EMPTY_ELEMENT_ID = "ID элемента не может быть null или пустой строкой";
   private static final String EXCEPTION_UNKNOWN_ELEMENT_ID = "Неизвестный ID элемента [%s] для контейнера [%s]. Возможные ID: %s";
@@ -278,7 +285,8 @@ public class ArmaContainer implements IBatchElementsContainer, INamed, IHaveUrl,
     if (element.isOptional()) {
       if (element.isDisplayed(false)) {
         try {
-          return element.readValue();
+          // not a method reference: ajc weaves the call join point of readValue only in a lambda body
+          return QuietInteractions.call(() -> element.readValue());
         } catch (Exception ex) {
           return defaultValue;
         }
@@ -311,7 +319,7 @@ public class ArmaContainer implements IBatchElementsContainer, INamed, IHaveUrl,
    */
   @Override
   public boolean isDisplayed() {
-    waitingDriver.waitForPageUpdate();
+    pageStabilityTracker.waitForPageUpdate();
     if (StringUtils.isNoneBlank(locator)) {
       return elementDriver.isElementDisplayed(this);
     } else {
@@ -332,7 +340,7 @@ public class ArmaContainer implements IBatchElementsContainer, INamed, IHaveUrl,
    */
   @Override
   public boolean isDisplayed(boolean shouldWait) {
-    waitingDriver.waitForPageUpdate();
+    pageStabilityTracker.waitForPageUpdate();
     if (StringUtils.isNoneBlank(locator)) {
       return elementDriver.isElementDisplayed(this, shouldWait);
     } else {
@@ -458,6 +466,7 @@ public class ArmaContainer implements IBatchElementsContainer, INamed, IHaveUrl,
   @Override
   public void setLocator(String locator) {
     this.locator = locator;
+    modificationCount++;
   }
 
   @Override
@@ -471,15 +480,38 @@ public class ArmaContainer implements IBatchElementsContainer, INamed, IHaveUrl,
   @Override
   public void setContext(ILocatable context) {
     this.context = context;
+    modificationCount++;
   }
 
-  public void setContextClass(Class<ILocatable> contextClass) {
+  /**
+   * Sets a class of the container's context. The context is resolved on the first call of
+   * {@link #getContext()}
+   */
+  public void setContextClass(Class<? extends ILocatable> contextClass) {
+    this.context = null;
     this.contextClass = contextClass;
+    modificationCount++;
   }
 
   @Override
   public void setContextLookup(boolean contextLookup) {
     this.contextLookup = contextLookup;
+    modificationCount++;
+  }
+
+  @Override
+  public int getModificationCount() {
+    return modificationCount;
+  }
+
+  @Override
+  public LocatorPath getLocatorPath() {
+    LocatorPath path = locatorPath;
+    if (path == null || !path.isValid()) {
+      path = LocatorPath.of(this);
+      locatorPath = path;
+    }
+    return path;
   }
 
   @Override
@@ -583,13 +615,13 @@ public class ArmaContainer implements IBatchElementsContainer, INamed, IHaveUrl,
     return contextLookup == that.contextLookup &&
         Objects.equals(elements, that.elements) &&
         Objects.equals(name, that.name) &&
-        Objects.equals(getLocatorDeque(), that.getLocatorDeque()) &&
+        Objects.equals(getLocatorPath(), that.getLocatorPath()) &&
         Objects.equals(url, that.url);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(elements, name, getLocatorDeque(), contextLookup, url);
+    return Objects.hash(elements, name, getLocatorPath(), contextLookup, url);
   }
 
   @Override
@@ -2,7 +2,10 @@ package com.github.mishaninss.arma.html.containers;
 
 import com.github.mishaninss.arma.html.containers.annotations.Container;
 import com.github.mishaninss.arma.html.interfaces.INamed;
+import com.github.mishaninss.arma.metrics.ArmaMetrics;
 import com.github.mishaninss.arma.uidriver.interfaces.ILocatable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.BeanPostProcessor;
@@ -16,6 +19,10 @@ public class ContainerAnnotationPostProcessor implements BeanPostProcessor {
   @Autowired
   private ApplicationContext applicationContext;
 
+  private final Map<String, ContainerFieldCallback.Registration> registrations =
+      new ConcurrentHashMap<>();
+  private volatile ArmaMetrics metrics;
+
   @Override
   public Object postProcessBeforeInitialization(Object bean, String beanName) {
     return bean;
@@ -39,10 +46,23 @@ public class ContainerAnnotationPostProcessor implements BeanPostProcessor {
     return bean;
   }
 
+  /**
+   * Metrics are looked up on first use, since autowiring them into a post-processor would create
+   * them before other post-processors are registered
+   */
+  private ArmaMetrics getMetrics() {
+    ArmaMetrics current = metrics;
+    if (current == null) {
+      current = applicationContext.getBean(ArmaMetrics.class);
+      metrics = current;
+    }
+    return current;
+  }
+
   private void configureFieldInjection(Object bean, String beanName) {
     Class<?> managedBeanClass = bean.getClass();
     ReflectionUtils.FieldCallback fieldCallback = new ContainerFieldCallback(bean,
-        applicationContext, beanName);
+        applicationContext, beanName, registrations, this::getMetrics);
     ReflectionUtils.doWithFields(managedBeanClass, fieldCallback,
         field -> field.isAnnotationPresent(Container.class)
             && ILocatable.class.isAssignableFrom(field.getType())
@@ -4,7 +4,15 @@ import com.github.mishaninss.arma.html.containers.annotations.Container;
 import com.github.mishaninss.arma.html.containers.annotations.Nested;
 import com.github.mishaninss.arma.html.interfaces.INamed;
 import com.github.mishaninss.arma.uidriver.interfaces.ILocatable;
+import com.github.mishaninss.arma.exceptions.ContainerInitException;
+import com.github.mishaninss.arma.metrics.ArmaMetrics;
 import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.reflect.FieldUtils;
 import org.springframework.beans.BeanUtils;
@@ -22,49 +30,111 @@ public class ContainerFieldCallback implements ReflectionUtils.FieldCallback {
   private final Object bean;
   private final String beanName;
   private final DefaultListableBeanFactory factory;
+  private final Map<String, Registration> registrations;
+  private final Supplier<ArmaMetrics> metrics;
 
   public ContainerFieldCallback(Object bean, ApplicationContext applicationContext,
       String beanName) {
+    this(bean, applicationContext, beanName, new ConcurrentHashMap<>());
+  }
+
+  /**
+   * @param registrations - registrations of container prototypes, shared by all callbacks of an
+   *                      application context
+   */
+  public ContainerFieldCallback(Object bean, ApplicationContext applicationContext,
+      String beanName, Map<String, Registration> registrations) {
+    this(bean, applicationContext, beanName, registrations, null);
+  }
+
+  /**
+   * @param registrations - registrations of container prototypes, shared by all callbacks of an
+   *                      application context
+   * @param metrics       - supplier of metrics of the application context or null to look them
+   *                      up in the bean factory
+   */
+  public ContainerFieldCallback(Object bean, ApplicationContext applicationContext,
+      String beanName, Map<String, Registration> registrations, Supplier<ArmaMetrics> metrics) {
     this.bean = bean;
     this.beanName = beanName;
+    this.registrations = registrations;
     factory = (DefaultListableBeanFactory) ((ConfigurableApplicationContext) applicationContext)
         .getBeanFactory();
+    this.metrics = metrics != null ? metrics : () -> factory.getBean(ArmaMetrics.class);
   }
 
   @Override
   public void doWith(Field field) throws IllegalAccessException {
     var containerProps = field.getAnnotation(Container.class);
     ILocatable container = (ILocatable) FieldUtils.readField(field, bean, true);
-    if (needPrototype(field, containerProps)) {
-      synchronized (ContainerFieldCallback.class) {
-        String containerBeanName = getContainerBeanName(containerProps, field);
-        Class<?> beanClass = container.getClass();
-        container = (ILocatable) getPrototype(beanClass, containerBeanName);
-        if (container == null) {
-          container = (ILocatable) BeanUtils.instantiateClass(beanClass);
-          var bd = new GenericBeanDefinition();
-          bd.setBeanClass(beanClass);
-          bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
-          factory.registerSingleton("proto_" + containerBeanName, container);
-          factory.registerBeanDefinition(containerBeanName, bd);
-          factory.autowireBean(container);
-          factory.initializeBean(container, containerBeanName);
-          String name = getName(field);
-          if (StringUtils.isNotBlank(name) && container instanceof INamed){
-            ((INamed) container).setName(name);
-          }
-          FieldUtils.writeField(field, bean, container, true);
-        } else {
-          String name = getName(field);
-          if (StringUtils.isNotBlank(name) && container instanceof INamed){
-            ((INamed) container).setName(name);
-          }
-          FieldUtils.writeField(field, bean, container, true);
-          return;
-        }
+    if (!needPrototype(field, containerProps)) {
+      setupContainer(field, containerProps, container);
+      return;
+    }
+
+    String containerBeanName = getContainerBeanName(containerProps, field);
+    Class<?> beanClass = container.getClass();
+    var registration = new Registration();
+    Registration existing = registrations.putIfAbsent(containerBeanName, registration);
+    if (existing != null) {
+      existing.await(containerBeanName);
+      ILocatable prototype = (ILocatable) getPrototype(beanClass, containerBeanName);
+      if (prototype != null) {
+        writePrototype(field, prototype);
       }
+      return;
     }
 
+    var registered = false;
+    try {
+      ILocatable prototype = (ILocatable) getPrototype(beanClass, containerBeanName);
+      if (prototype != null) {
+        writePrototype(field, prototype);
+      } else {
+        long start = System.nanoTime();
+        container = (ILocatable) BeanUtils.instantiateClass(beanClass);
+        var bd = new GenericBeanDefinition();
+        bd.setBeanClass(beanClass);
+        bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        factory.registerSingleton("proto_" + containerBeanName, container);
+        registered = true;
+        factory.registerBeanDefinition(containerBeanName, bd);
+        factory.autowireBean(container);
+        factory.initializeBean(container, containerBeanName);
+        writePrototype(field, container);
+        setupContainer(field, containerProps, container);
+        metrics.get().containers().recordPrototype(beanClass, System.nanoTime() - start);
+      }
+      registration.complete();
+    } catch (IllegalAccessException | RuntimeException | Error ex) {
+      if (registered) {
+        unregisterPrototype(containerBeanName);
+      }
+      registrations.remove(containerBeanName, registration);
+      registration.fail(ex);
+      throw ex;
+    }
+  }
+
+  /**
+   * Removes a half-initialized prototype, so a retry registers it again
+   */
+  private void unregisterPrototype(String containerBeanName) {
+    factory.destroySingleton("proto_" + containerBeanName);
+    if (factory.containsBeanDefinition(containerBeanName)) {
+      factory.removeBeanDefinition(containerBeanName);
+    }
+  }
+
+  private void writePrototype(Field field, ILocatable container) throws IllegalAccessException {
+    String name = getName(field);
+    if (StringUtils.isNotBlank(name) && container instanceof INamed) {
+      ((INamed) container).setName(name);
+    }
+    FieldUtils.writeField(field, bean, container, true);
+  }
+
+  private void setupContainer(Field field, Container containerProps, ILocatable container) {
     String locator = ContainersFactory.getContainerLocator(containerProps);
     if (isNotBlank(locator)) {
       container.setLocator(locator);
@@ -104,6 +174,39 @@ public class ContainerFieldCallback implements ReflectionUtils.FieldCallback {
     }
   }
 
+  /**
+   * Registration of a container prototype bean. Prototype beans copy locator, context and name of
+   * the registered instance, so the registration is complete only when the instance is fully set
+   * up. Other threads wait for completion, while the registering thread may reenter. A reentering
+   * thread may find no prototype yet, then its field keeps the instance it already holds.
+   */
+  public static final class Registration {
+
+    private final Thread owner = Thread.currentThread();
+    private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+    private void complete() {
+      done.complete(null);
+    }
+
+    private void fail(Throwable ex) {
+      done.completeExceptionally(ex);
+    }
+
+    private void await(String containerBeanName) {
+      if (owner == Thread.currentThread()) {
+        return;
+      }
+      try {
+        done.join();
+      } catch (CompletionException | CancellationException ex) {
+        throw new ContainerInitException(
+            "Registration of the container prototype [" + containerBeanName + "] failed",
+            ex.getCause() != null ? ex.getCause() : ex);
+      }
+    }
+  }
+
   private String getName(Field field) {
     String name = null;
     if (field.isAnnotationPresent(Container.class)) {
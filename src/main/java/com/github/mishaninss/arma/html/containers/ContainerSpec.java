@@ -0,0 +1,217 @@
+package com.github.mishaninss.arma.html.containers;
+
+import com.github.mishaninss.arma.exceptions.ContainerInitException;
+import com.github.mishaninss.arma.html.interfaces.IInteractiveContainer;
+import com.github.mishaninss.arma.html.interfaces.IInteractiveElement;
+import com.github.mishaninss.arma.uidriver.interfaces.ILocatable;
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.lang.Nullable;
+
+/**
+ * Fully resolved parameters of a container class and its elements for a particular set of active
+ * profiles and property values. Specs are immutable and shared between container instances through
+ * {@link ContainerSpecCache}, so initializing of a container doesn't require any annotation or
+ * {@link org.springframework.core.env.Environment} lookups once a spec is built: the cache key is
+ * built from a {@link ContainerSpecCache.EnvironmentSnapshot} of the context.
+ */
+final class ContainerSpec {
+
+  private final Class<?> containerClass;
+  private final String name;
+  private final String locator;
+  private final String url;
+  private final Class<? extends ILocatable> contextClass;
+  private final Class<?> nestedIn;
+  private final boolean lazy;
+  private final List<ElementSpec> elements;
+
+  ContainerSpec(Class<?> containerClass, String name, String locator, String url,
+      Class<? extends ILocatable> contextClass, Class<?> nestedIn, boolean lazy,
+      List<ElementSpec> elements) {
+    this.containerClass = containerClass;
+    this.name = name;
+    this.locator = locator;
+    this.url = url;
+    this.contextClass = contextClass;
+    this.nestedIn = nestedIn;
+    this.lazy = lazy;
+    this.elements = Collections.unmodifiableList(elements);
+  }
+
+  Class<?> getContainerClass() {
+    return containerClass;
+  }
+
+  @Nullable
+  String getName() {
+    return name;
+  }
+
+  @Nullable
+  String getLocator() {
+    return locator;
+  }
+
+  /**
+   * Returns URL of a container as it is declared, without resolving
+   */
+  @Nullable
+  String getUrl() {
+    return url;
+  }
+
+  @Nullable
+  Class<? extends ILocatable> getContextClass() {
+    return contextClass;
+  }
+
+  /**
+   * Returns declaring container class of a {@code @Nested} container or null
+   */
+  @Nullable
+  Class<?> getNestedIn() {
+    return nestedIn;
+  }
+
+  /**
+   * Indicates if element controllers have to be created on first use
+   */
+  boolean isLazy() {
+    return lazy;
+  }
+
+  List<ElementSpec> getElements() {
+    return elements;
+  }
+
+  /**
+   * Resolved parameters of an element field of a container
+   */
+  static final class ElementSpec {
+
+    private final Field field;
+    private final String elementId;
+    private final List<String> locators;
+    private final Class<? extends IInteractiveElement> controllerClass;
+    private final String controllerClassError;
+    private final String name;
+    private final Boolean optional;
+    private final boolean contextLookup;
+    private final Class<? extends ILocatable> contextClass;
+    private final Class<? extends IInteractiveContainer> nextPageClass;
+    private final Class<? extends Function<IInteractiveElement, String>> readerClass;
+    private final Object[] readerArgs;
+    private final Class<? extends IInteractiveElement> wrapperClass;
+
+    ElementSpec(Field field, String elementId, List<String> locators,
+        Class<? extends IInteractiveElement> controllerClass, String controllerClassError,
+        String name, Boolean optional, boolean contextLookup,
+        Class<? extends ILocatable> contextClass,
+        Class<? extends IInteractiveContainer> nextPageClass,
+        Class<? extends Function<IInteractiveElement, String>> readerClass, Object[] readerArgs,
+        Class<? extends IInteractiveElement> wrapperClass) {
+      this.field = field;
+      this.elementId = elementId;
+      this.locators = Collections.unmodifiableList(locators);
+      this.controllerClass = controllerClass;
+      this.controllerClassError = controllerClassError;
+      this.name = name;
+      this.optional = optional;
+      this.contextLookup = contextLookup;
+      this.contextClass = contextClass;
+      this.nextPageClass = nextPageClass;
+      this.readerClass = readerClass;
+      this.readerArgs = readerArgs;
+      this.wrapperClass = wrapperClass;
+    }
+
+    Field getField() {
+      return field;
+    }
+
+    String getElementId() {
+      return elementId;
+    }
+
+    /**
+     * Returns locators loaded from an external source or, if there are none, locators declared by
+     * element annotations with resolved placeholders
+     */
+    List<String> getLocators() {
+      return locators;
+    }
+
+    /**
+     * Returns class of an element controller
+     *
+     * @throws ContainerInitException if a controller class can't be resolved for a field
+     */
+    Class<? extends IInteractiveElement> getControllerClass() {
+      if (controllerClassError != null) {
+        throw new ContainerInitException(controllerClassError);
+      }
+      return controllerClass;
+    }
+
+    String getName() {
+      return name;
+    }
+
+    /**
+     * Returns optional mark of an element or null if it is not declared
+     */
+    @Nullable
+    Boolean getOptional() {
+      return optional;
+    }
+
+    boolean isContextLookup() {
+      return contextLookup;
+    }
+
+    @Nullable
+    Class<? extends ILocatable> getContextClass() {
+      return contextClass;
+    }
+
+    /**
+     * Returns explicitly declared next page class or null if the element's container is a next page
+     */
+    @Nullable
+    Class<? extends IInteractiveContainer> getNextPageClass() {
+      return nextPageClass;
+    }
+
+    @Nullable
+    Class<? extends Function<IInteractiveElement, String>> getReaderClass() {
+      return readerClass;
+    }
+
+    Object[] getReaderArgs() {
+      return readerArgs;
+    }
+
+    /**
+     * Returns a composite class, which has to wrap an element controller, or null
+     */
+    @Nullable
+    Class<? extends IInteractiveElement> getWrapperClass() {
+      return wrapperClass;
+    }
+
+    /**
+     * Returns class of a fully initialized element: a composite class if an element controller has
+     * to be wrapped, or a controller class. Returns null if a controller class can't be resolved
+     */
+    @Nullable
+    Class<? extends IInteractiveElement> getElementClass() {
+      if (controllerClass == null) {
+        return null;
+      }
+      return wrapperClass != null ? wrapperClass : controllerClass;
+    }
+  }
+}
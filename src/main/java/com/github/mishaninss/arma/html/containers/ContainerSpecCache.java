@@ -0,0 +1,246 @@
+package com.github.mishaninss.arma.html.containers;
+
+import com.github.mishaninss.arma.html.containers.annotations.ContextualContainer;
+import com.github.mishaninss.arma.html.containers.annotations.ContextualElement;
+import com.github.mishaninss.arma.html.containers.annotations.ContextualUrl;
+import com.github.mishaninss.arma.html.containers.annotations.Element;
+import com.github.mishaninss.arma.html.containers.annotations.Url;
+import com.github.mishaninss.arma.html.containers.descriptors.ContainerDescriptor;
+import com.github.mishaninss.arma.html.containers.descriptors.ContainerDescriptors;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.core.env.Environment;
+import org.springframework.lang.NonNull;
+
+/**
+ * JVM-wide cache of resolved container specs. A spec is cached per container class, set of active
+ * profiles, path of a locator bundle and values of the properties, which can affect it: properties
+ * referenced by {@code @ContextualContainer}, {@code @ContextualUrl} and {@code @ContextualElement}
+ * annotations and placeholders used in element locators. Names of such properties are collected
+ * once per class. Profiles and property values are taken from an {@link EnvironmentSnapshot} of a
+ * context, so a lookup of a cached spec doesn't query the {@link Environment}. Names and specs are
+ * stored in the container class itself, so they don't prevent a class loader from being unloaded.
+ */
+public final class ContainerSpecCache {
+
+  private static final Pattern PLACEHOLDER = Pattern.compile("\\$\\{([^}:]+)");
+  private static final ClassValue<ClassSpecs> SPECS = new ClassValue<>() {
+    @Override
+    protected ClassSpecs computeValue(Class<?> containerClass) {
+      return new ClassSpecs(collectPropertyNames(containerClass));
+    }
+  };
+  private static final AtomicInteger GENERATION = new AtomicInteger();
+  private static final AtomicInteger SIZE = new AtomicInteger();
+  private static final LongAdder HITS = new LongAdder();
+  private static final LongAdder MISSES = new LongAdder();
+
+  private ContainerSpecCache() {
+  }
+
+  static ContainerSpec get(@NonNull Class<?> containerClass, @NonNull EnvironmentSnapshot env,
+      @NonNull Function<Class<?>, ContainerSpec> loader) {
+    Map<Key, ContainerSpec> specs = SPECS.get(containerClass).getSpecs();
+    Key key = env.getKey(containerClass);
+    ContainerSpec spec = specs.get(key);
+    if (spec != null) {
+      HITS.increment();
+      return spec;
+    }
+    MISSES.increment();
+    spec = loader.apply(containerClass);
+    ContainerSpec existing = specs.putIfAbsent(key, spec);
+    if (existing != null) {
+      return existing;
+    }
+    SIZE.incrementAndGet();
+    return spec;
+  }
+
+  /**
+   * Returns number of container initializations, which used a cached spec
+   */
+  public static long getHitCount() {
+    return HITS.sum();
+  }
+
+  /**
+   * Returns number of container initializations, which had to resolve a spec
+   */
+  public static long getMissCount() {
+    return MISSES.sum();
+  }
+
+  /**
+   * Returns number of specs cached since the last call of {@link #clear()}
+   */
+  public static int size() {
+    return SIZE.get();
+  }
+
+  /**
+   * Drops all cached specs and resets counters. Specs of a class are dropped the next time the
+   * class is looked up
+   */
+  public static void clear() {
+    GENERATION.incrementAndGet();
+    SIZE.set(0);
+    HITS.reset();
+    MISSES.reset();
+  }
+
+  private static List<String> getPropertyNames(Class<?> containerClass) {
+    return SPECS.get(containerClass).propertyNames;
+  }
+
+  private static List<String> collectPropertyNames(Class<?> containerClass) {
+    Set<String> names = new LinkedHashSet<>();
+    if (containerClass.isAnnotationPresent(ContextualContainer.class)) {
+      Arrays.stream(containerClass.getAnnotation(ContextualContainer.class).value())
+          .forEach(container -> names.add(container.prop()));
+    }
+    if (containerClass.isAnnotationPresent(ContextualUrl.class)) {
+      Arrays.stream(containerClass.getAnnotation(ContextualUrl.class).value())
+          .map(Url::prop)
+          .forEach(names::add);
+    }
+    for (ContainerDescriptor.ElementSlot slot : ContainerDescriptors.get(containerClass)
+        .getElements()) {
+      Field field = slot.getField();
+      if (field.isAnnotationPresent(ContextualElement.class)) {
+        for (Element element : field.getAnnotation(ContextualElement.class).value()) {
+          names.add(element.prop());
+          collectPlaceholders(element, names);
+        }
+      } else if (field.isAnnotationPresent(Element.class)) {
+        collectPlaceholders(field.getAnnotation(Element.class), names);
+      }
+    }
+    return Collections.unmodifiableList(new ArrayList<>(names));
+  }
+
+  private static void collectPlaceholders(Element element, Set<String> names) {
+    List<String> values = new ArrayList<>(Arrays.asList(element.locators()));
+    values.addAll(Arrays.asList(element.value(), element.locator(), element.byXpath(),
+        element.byCss(), element.byName(), element.byId(), element.byClass(), element.byTag(),
+        element.byLink(), element.byPatrialLink(), element.byText(), element.byArg()));
+    for (String value : values) {
+      Matcher matcher = PLACEHOLDER.matcher(value);
+      while (matcher.find()) {
+        names.add(matcher.group(1).trim());
+      }
+    }
+  }
+
+  /**
+   * Names of properties, which can affect specs of a container class, and specs of the class
+   */
+  private static final class ClassSpecs {
+
+    private final List<String> propertyNames;
+    private final Map<Key, ContainerSpec> specs = new ConcurrentHashMap<>();
+    private volatile int generation = GENERATION.get();
+
+    private ClassSpecs(List<String> propertyNames) {
+      this.propertyNames = propertyNames;
+    }
+
+    private Map<Key, ContainerSpec> getSpecs() {
+      int current = GENERATION.get();
+      if (generation != current) {
+        synchronized (this) {
+          if (generation != current) {
+            specs.clear();
+            generation = current;
+          }
+        }
+      }
+      return specs;
+    }
+  }
+
+  /**
+   * Active profiles, path of a locator bundle and values of properties of a context. Each value is
+   * read from the {@link Environment} once, the first time it is needed, and a cache key is built
+   * once per container class. Changes of the environment made after that are not seen, so a
+   * snapshot is created once per {@link ContainersFactory}.
+   */
+  static final class EnvironmentSnapshot {
+
+    private final Environment env;
+    private final List<String> profiles;
+    private final String locatorsBundle;
+    private final Map<String, Optional<String>> properties = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Key> keys = new ConcurrentHashMap<>();
+
+    EnvironmentSnapshot(@NonNull Environment env, String locatorsBundle) {
+      this.env = env;
+      this.profiles = Collections.unmodifiableList(Arrays.asList(env.getActiveProfiles()));
+      this.locatorsBundle = locatorsBundle;
+    }
+
+    private Key getKey(Class<?> containerClass) {
+      return keys.computeIfAbsent(containerClass, this::createKey);
+    }
+
+    private Key createKey(Class<?> containerClass) {
+      List<String> propertyNames = getPropertyNames(containerClass);
+      List<String> values = new ArrayList<>(propertyNames.size());
+      propertyNames.forEach(name -> values.add(getProperty(name)));
+      return new Key(profiles, locatorsBundle, values);
+    }
+
+    private String getProperty(String name) {
+      return properties.computeIfAbsent(name, key -> Optional.ofNullable(env.getProperty(key)))
+          .orElse(null);
+    }
+  }
+
+  private static final class Key {
+
+    private final List<String> profiles;
+    private final String locatorsBundle;
+    private final List<String> properties;
+    private final int hashCode;
+
+    private Key(List<String> profiles, String locatorsBundle, List<String> properties) {
+      this.profiles = profiles;
+      this.locatorsBundle = locatorsBundle;
+      this.properties = properties;
+      this.hashCode = Objects.hash(profiles, locatorsBundle, properties);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Key key = (Key) o;
+      return profiles.equals(key.profiles)
+          && Objects.equals(locatorsBundle, key.locatorsBundle)
+          && properties.equals(key.properties);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+}
@@ -11,13 +11,15 @@ import com.github.mishaninss.arma.html.containers.annotations.ContextualContaine
 import com.github.mishaninss.arma.html.containers.annotations.ContextualElement;
 import com.github.mishaninss.arma.html.containers.annotations.ContextualUrl;
 import com.github.mishaninss.arma.html.containers.annotations.Element;
-import com.github.mishaninss.arma.html.containers.annotations.ElementIds;
 import com.github.mishaninss.arma.html.containers.annotations.Nested;
 import com.github.mishaninss.arma.html.containers.annotations.Optional;
 import com.github.mishaninss.arma.html.containers.annotations.Url;
+import com.github.mishaninss.arma.html.containers.descriptors.ContainerDescriptor;
+import com.github.mishaninss.arma.html.containers.descriptors.ContainerDescriptors;
 import com.github.mishaninss.arma.html.containers.interfaces.IBatchElementsContainer;
 import com.github.mishaninss.arma.html.containers.interfaces.IDefaultEventHandlersProvider;
 import com.github.mishaninss.arma.html.containers.interfaces.IHaveUrl;
+import com.github.mishaninss.arma.html.containers.locators.LocatorsRepository;
 import com.github.mishaninss.arma.html.containers.table.Column;
 import com.github.mishaninss.arma.html.containers.table.Table;
 import com.github.mishaninss.arma.html.containers.table.annotations.IColumn;
@@ -32,6 +34,7 @@ import com.github.mishaninss.arma.html.interfaces.IInteractiveElement;
 import com.github.mishaninss.arma.html.interfaces.IListenableElement;
 import com.github.mishaninss.arma.html.interfaces.INamed;
 import com.github.mishaninss.arma.html.readers.NoopReader;
+import com.github.mishaninss.arma.metrics.ArmaMetrics;
 import com.github.mishaninss.arma.uidriver.LocatorType;
 import com.github.mishaninss.arma.uidriver.interfaces.ILocatable;
 import com.github.mishaninss.arma.utils.ReflectionUtils;
@@ -46,6 +49,8 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.apache.commons.collections4.CollectionUtils;
@@ -54,10 +59,14 @@ import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.reflect.FieldUtils;
 import org.apache.commons.text.WordUtils;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.target.AbstractLazyCreationTargetSource;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
 import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ConfigurableApplicationContext;
@@ -65,6 +74,7 @@ import org.springframework.core.env.Environment;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
 
 /**
  * Provides mechanism for creating and initializing of container instances
@@ -79,6 +89,25 @@ public class ContainersFactory implements InitializingBean, DisposableBean {
       EXCEPTION_INIT_FAILURE + ". Файл с локаторами [%s] не найден";
   private static final ThreadLocal<ContainersFactory> INSTANCES = new ThreadLocal<>();
 
+  private static final ClassValue<Boolean> COPYABLE_CONTAINERS = new ClassValue<>() {
+    @Override
+    protected Boolean computeValue(Class<?> type) {
+      if (!ArmaContainer.class.isAssignableFrom(type)
+          || !FieldUtils.getFieldsListWithAnnotation(type, Container.class).isEmpty()) {
+        return false;
+      }
+      try {
+        Class<?> declaringClass = type.getMethod("afterPropertiesSet").getDeclaringClass();
+        return declaringClass == ArmaContainer.class || declaringClass == IndexedContainer.class;
+      } catch (NoSuchMethodException ex) {
+        return false;
+      }
+    }
+  };
+
+  private final LongAdder initializedContainers = new LongAdder();
+  private ContainerSpecCache.EnvironmentSnapshot environmentSnapshot;
+
   @Autowired
   private UiCommonsProperties uiCommonsProperties;
   @Autowired
@@ -89,10 +118,13 @@ public class ContainersFactory implements InitializingBean, DisposableBean {
   private ApplicationContext applicationContext;
   @Autowired
   private IDefaultEventHandlersProvider defaultEventHandlersProvider;
+  @Autowired
+  private ArmaMetrics metrics;
 
   @Override
   public void afterPropertiesSet() {
-
+    environmentSnapshot = new ContainerSpecCache.EnvironmentSnapshot(env,
+        uiCommonsProperties.framework().locatorsBundle);
     INSTANCES.set(this);
   }
 
@@ -101,6 +133,21 @@ public class ContainersFactory implements InitializingBean, DisposableBean {
     INSTANCES.remove();
   }
 
+  /**
+   * Makes this instance available from {@link #get()} in the current thread, e.g. in a worker
+   * thread, which initializes containers of the context
+   */
+  public void bindToCurrentThread() {
+    INSTANCES.set(this);
+  }
+
+  /**
+   * Removes an instance bound to the current thread
+   */
+  public static void unbindFromCurrentThread() {
+    INSTANCES.remove();
+  }
+
   private ContainersFactory() {
   }
 
@@ -108,15 +155,24 @@ public class ContainersFactory implements InitializingBean, DisposableBean {
     return INSTANCES.get();
   }
 
+  /**
+   * Returns the application context this factory belongs to
+   */
+  public ApplicationContext getApplicationContext() {
+    return applicationContext;
+  }
+
   /**
    * Provides an instance of container of a given class. If an instance of a given class has been
    * already created, method will return it. Otherwise a new instance will be created and
-   * initialized.
+   * initialized. Method doesn't take a lock of its own. Note that the bean factory creates
+   * singletons under its registry lock, so singleton containers of a context are still created one
+   * at a time, while lookups of created containers and creation of prototypes don't block.
    *
    * @param clazz a Page Object class
    * @return an instance of Page Object class
    */
-  public synchronized <T> T initContainer(Class<T> clazz) {
+  public <T> T initContainer(Class<T> clazz) {
     Preconditions.checkNotNull(clazz, "clazz value cannot be null");
     try {
       return applicationContext.getBean(clazz);
@@ -132,24 +188,160 @@ public class ContainersFactory implements InitializingBean, DisposableBean {
    * @param instance - an instance of Page Object class
    */
   public void initContainer(IElementsContainer instance) {
+    long start = System.nanoTime();
     try {
-      setContainerName(instance);
-      setContainerLocator(instance);
-      setContainerUrl(instance);
-      setContainerContext(instance);
-
-      Map<String, List<String>> loadedLocators = loadLocators(instance);
-      resolveElementsMapping(instance, loadedLocators);
-
-      checkIfNested(instance);
+      ContainerSpec spec = getContainerSpec(instance.getClass());
+      setContainerName(instance, spec);
+      setContainerLocator(instance, spec);
+      setContainerUrl(instance, spec);
+      setContainerContext(instance, spec);
+
+      int createdElements = resolveElementsMapping(instance, spec);
+
+      checkIfNested(instance, spec.getNestedIn());
+      initializedContainers.increment();
+      metrics.containers()
+          .recordInit(instance.getClass(), System.nanoTime() - start, createdElements);
     } catch (Exception ex) {
       throw getException(ex, EXCEPTION_INIT_FAILURE, instance.getClass().getName());
     }
   }
 
-  private @Nullable
-  Container getContainerProps(@NonNull IElementsContainer instance) {
-    return getContainerProps(instance.getClass());
+  /**
+   * Returns number of containers and tables initialized by this factory since it was created or
+   * since the last call of {@link #resetInitializedContainersCount()}. Contexts and next pages of
+   * elements are resolved on demand, so the number shows how much of a page graph was touched.
+   */
+  public long getInitializedContainersCount() {
+    return initializedContainers.sum();
+  }
+
+  /**
+   * Resets the number of initialized containers, e.g. at the start of a scenario
+   *
+   * @return number of containers initialized before the reset
+   */
+  public long resetInitializedContainersCount() {
+    return initializedContainers.sumThenReset();
+  }
+
+  /**
+   * Resolves and caches spec of a given container class without creating an instance
+   *
+   * @param clazz - container class
+   */
+  void prepareContainerSpec(@NonNull Class<?> clazz) {
+    getContainerSpec(clazz);
+  }
+
+  private @NonNull
+  ContainerSpec getContainerSpec(@NonNull Class<?> clazz) {
+    var resolved = new AtomicBoolean();
+    ContainerSpec spec = ContainerSpecCache.get(clazz, environmentSnapshot, key -> {
+      resolved.set(true);
+      return buildContainerSpec(key);
+    });
+    metrics.containers().recordSpecLookup(clazz, resolved.get());
+    return spec;
+  }
+
+  private @NonNull
+  ContainerSpec buildContainerSpec(@NonNull Class<?> clazz) {
+    String name = getContainerName(clazz);
+    String locator = null;
+    Class<? extends ILocatable> contextClass = null;
+    var lazy = false;
+    Map<String, List<String>> loadedLocators = new LinkedHashMap<>();
+    var containerProps = getContainerProps(clazz);
+    if (containerProps != null) {
+      locator = getContainerLocator(containerProps);
+      lazy = containerProps.lazy();
+      if (!containerProps.context().equals(NoopElement.class)) {
+        contextClass = containerProps.context();
+      }
+      long start = System.nanoTime();
+      try {
+        loadedLocators = loadLocators(clazz, name, containerProps);
+      } catch (IOException ex) {
+        throw getException(ex, EXCEPTION_INIT_FAILURE, clazz.getName());
+      }
+      metrics.containers().recordLocatorsLoad(clazz, System.nanoTime() - start);
+    }
+
+    String url = null;
+    var urlProps = getUrlProps(clazz);
+    if (urlProps != null) {
+      url = urlProps.value().trim();
+    }
+
+    List<ContainerSpec.ElementSpec> elements = new ArrayList<>();
+    for (ContainerDescriptor.ElementSlot slot : ContainerDescriptors.get(clazz).getElements()) {
+      elements.add(buildElementSpec(slot.getField(), slot.getElementId(), loadedLocators));
+    }
+
+    return new ContainerSpec(clazz, name, locator, url, contextClass, getNestedIn(clazz), lazy,
+        elements);
+  }
+
+  private ContainerSpec.ElementSpec buildElementSpec(@NonNull Field controllerField,
+      @Nullable String elementId, @NonNull Map<String, List<String>> loadedLocators) {
+    var elementProps = getElementProps(controllerField);
+    if (elementId == null) {
+      elementId = getElementId(controllerField, elementProps);
+    }
+
+    List<String> locators = loadedLocators.get(elementId);
+    if (CollectionUtils.isEmpty(locators)) {
+      locators = getElementLocators(elementProps);
+    }
+
+    Class<? extends IInteractiveElement> controllerClass = null;
+    String controllerClassError = null;
+    try {
+      controllerClass = getControllerClass(controllerField, elementProps);
+    } catch (ContainerInitException ex) {
+      controllerClassError = ex.getMessage();
+    }
+
+    Boolean optional = null;
+    if (controllerField.isAnnotationPresent(Optional.class)) {
+      optional = true;
+    } else if (elementProps != null) {
+      optional = elementProps.optional();
+    }
+
+    var contextLookup = true;
+    Class<? extends ILocatable> contextClass = null;
+    Class<? extends IInteractiveContainer> nextPageClass = null;
+    Class<? extends Function<IInteractiveElement, String>> readerClass = null;
+    Object[] readerArgs = null;
+    if (elementProps != null) {
+      contextLookup = elementProps.contextLookup();
+      if (!elementProps.context().equals(NoopElement.class)) {
+        contextClass = elementProps.context();
+      }
+      Class<? extends IInteractiveContainer> declaredNextPage = elementProps.nextPage();
+      if (!declaredNextPage.equals(ArmaContainer.class) && IInteractiveContainer.class
+          .isAssignableFrom(declaredNextPage)) {
+        nextPageClass = declaredNextPage;
+      }
+      var readerProps = elementProps.reader();
+      if (!Objects.equals(readerProps.value(), NoopReader.class)) {
+        readerClass = readerProps.value();
+        readerArgs = readerProps.args();
+      }
+    }
+
+    Class<? extends IInteractiveElement> wrapperClass = null;
+    if (controllerField.getType().equals(IndexedElement.class)) {
+      wrapperClass = IndexedElement.class;
+    } else if (controllerField.getType().equals(TemplatedElement.class)) {
+      wrapperClass = TemplatedElement.class;
+    }
+
+    return new ContainerSpec.ElementSpec(controllerField, elementId, locators, controllerClass,
+        controllerClassError, getElementName(controllerField, elementId, elementProps), optional,
+        contextLookup, contextClass, nextPageClass, readerClass, readerArgs, wrapperClass);
   }
 
   private @Nullable
@@ -178,8 +370,7 @@ public class ContainersFactory implements InitializingBean, DisposableBean {
   }
 
   private @Nullable
-  Url getUrlProps(@NonNull IElementsContainer instance) {
-    Class<? extends IElementsContainer> clazz = instance.getClass();
+  Url getUrlProps(@NonNull Class<?> clazz) {
     if (clazz.isAnnotationPresent(ContextualUrl.class)) {
       var contextualUrl = clazz.getAnnotation(ContextualUrl.class);
       Url[] urls = contextualUrl.value();
@@ -265,21 +456,18 @@ public class ContainersFactory implements InitializingBean, DisposableBean {
     return DataObject.sanitizeElementId(name);
   }
 
-  private void setContainerName(@NonNull IElementsContainer instance) {
-    Class<? extends IElementsContainer> clazz = instance.getClass();
+  private void setContainerName(@NonNull IElementsContainer instance,
+      @NonNull ContainerSpec spec) {
     if (instance instanceof INamed && ((INamed) instance).getName() == null) {
-      String name = getContainerName(clazz);
-      ((INamed) instance).setName(StringUtils.normalizeSpace(name));
+      ((INamed) instance).setName(spec.getName());
     }
   }
 
-  private void setContainerLocator(@NonNull IElementsContainer instance) {
-    var containerProps = getContainerProps(instance);
-    if (containerProps != null) {
-      String locator = getContainerLocator(containerProps);
-      if (StringUtils.isNotBlank(locator)) {
-        instance.setLocator(locator);
-      }
+  private void setContainerLocator(@NonNull IElementsContainer instance,
+      @NonNull ContainerSpec spec) {
+    String locator = spec.getLocator();
+    if (StringUtils.isNotBlank(locator)) {
+      instance.setLocator(locator);
     }
   }
 
@@ -295,13 +483,10 @@ public class ContainersFactory implements InitializingBean, DisposableBean {
     return null;
   }
 
-  private void setContainerUrl(@Nullable IElementsContainer instance) {
+  private void setContainerUrl(@Nullable IElementsContainer instance,
+      @NonNull ContainerSpec spec) {
     if (instance instanceof IHaveUrl) {
-      String url = null;
-      var urlProps = getUrlProps(instance);
-      if (urlProps != null) {
-        url = urlProps.value().trim();
-      }
+      String url = spec.getUrl();
       if (!StringUtils.isBlank(url)) {
         url = urlUtils.resolveUrl(url);
         ((IHaveUrl) instance).setUrl(url);
@@ -309,144 +494,89 @@ public class ContainersFactory implements InitializingBean, DisposableBean {
     }
   }
 
-  @SuppressWarnings("unchecked")
   private void checkIfNested(@NonNull ILocatable instance) {
-    Class<? extends ILocatable> clazz = instance.getClass();
+    checkIfNested(instance, getNestedIn(instance.getClass()));
+  }
+
+  @SuppressWarnings("unchecked")
+  private void checkIfNested(@NonNull ILocatable instance, @Nullable Class<?> declaringClass) {
+    if (declaringClass == null) {
+      return;
+    }
+    if (instance instanceof ArmaContainer) {
+      ((ArmaContainer) instance).setContextClass((Class<ILocatable>) declaringClass);
+    } else {
+      instance.setContext(initContainer((Class<ILocatable>) declaringClass));
+    }
+  }
+
+  private static @Nullable
+  Class<?> getNestedIn(@NonNull Class<?> clazz) {
     if (clazz.isAnnotationPresent(Nested.class)) {
       Class<?> declaringClass = clazz.getDeclaringClass();
       if (declaringClass != null && ArmaContainer.class.isAssignableFrom(declaringClass)) {
-        try {
-          ILocatable context = initContainer((Class<ArmaContainer>) declaringClass);
-          instance.setContext(context);
-        } catch (Exception ex) {
-          ((ArmaContainer) instance).setContextClass((Class<ILocatable>) declaringClass);
-        }
+        return declaringClass;
       }
     }
+    return null;
   }
 
   private @NonNull
-  Map<String, List<String>> loadLocators(@NonNull IElementsContainer instance) throws IOException {
-    Class<? extends IElementsContainer> clazz = instance.getClass();
-    Map<String, List<String>> loadedLocators = new LinkedHashMap<>();
-    var containerProps = getContainerProps(instance);
-    if (containerProps != null) {
-      String locatorsFilePath = containerProps.locators();
-      if (StringUtils.isNoneBlank(locatorsFilePath)) {
-        try {
-          loadedLocators = CsvDataExtractor.extractData(locatorsFilePath);
-        } catch (IOException ex) {
-          var message = String
-              .format(EXCEPTION_LOCATORS_FILE_NOT_FOUND, ((INamed) instance).getName(),
-                  locatorsFilePath);
-          throw new ContainerInitException(message, ex);
-        }
-      } else {
-        locatorsFilePath = clazz.getName().replace(".", "/") + ".csv";
-        var locatorsUrl = clazz.getClassLoader().getResource(locatorsFilePath);
-        if (locatorsUrl != null) {
-          loadedLocators = CsvDataExtractor.extractData(locatorsUrl);
-        }
+  Map<String, List<String>> loadLocators(@NonNull Class<?> clazz, String containerName,
+      @NonNull Container containerProps) throws IOException {
+    String bundlePath = uiCommonsProperties.framework().locatorsBundle;
+    String locatorsFilePath = containerProps.locators();
+    if (StringUtils.isNoneBlank(locatorsFilePath)) {
+      try {
+        return LocatorsRepository.getLocators(locatorsFilePath, bundlePath,
+            () -> CsvDataExtractor.extractData(locatorsFilePath));
+      } catch (IOException ex) {
+        var message = String
+            .format(EXCEPTION_LOCATORS_FILE_NOT_FOUND, containerName, locatorsFilePath);
+        throw new ContainerInitException(message, ex);
       }
+    } else {
+      String classLocatorsFilePath = clazz.getName().replace(".", "/") + ".csv";
+      return LocatorsRepository.getLocators(classLocatorsFilePath, bundlePath, () -> {
+        var locatorsUrl = clazz.getClassLoader().getResource(classLocatorsFilePath);
+        return locatorsUrl != null ? CsvDataExtractor.extractData(locatorsUrl) : null;
+      });
     }
-    return loadedLocators;
   }
 
-  private void resolveElementsMapping(@NonNull IElementsContainer container,
-      Map<String, List<String>> loadedLocators) throws IllegalAccessException {
-    Class<?> clazz = container.getClass();
-
+  /**
+   * @return number of created element controllers, not counting proxies of lazy elements
+   */
+  private int resolveElementsMapping(@NonNull IElementsContainer container,
+      @NonNull ContainerSpec spec) {
     Map<String, IInteractiveElement> elements = new LinkedHashMap<>();
-
-    List<Class> elementIdsClasses = ReflectionUtils
-        .getInnerClassesWithAnnotation(clazz, ElementIds.class);
-    List<Field> controllerFields = FieldUtils.getFieldsListWithAnnotation(clazz, Element.class);
-    controllerFields.addAll(FieldUtils.getFieldsListWithAnnotation(clazz, ContextualElement.class));
-
-    //Map element controllers with explicitly provided IDs
-    for (Class<?> elementIdsClass : elementIdsClasses) {
-      elements.putAll(resolveElementIdsClassMapping(elementIdsClass, controllerFields, container,
-          loadedLocators));
+    var createdElements = 0;
+    for (ContainerSpec.ElementSpec elementSpec : spec.getElements()) {
+      IInteractiveElement element = spec.isLazy() ?
+          initLazyElement(elementSpec, container) : initElement(elementSpec, container);
+      elements.put(DataObject.sanitizeElementId(elementSpec.getElementId()), element);
+      if (!AopUtils.isAopProxy(element)) {
+        createdElements++;
+      }
     }
 
-    //Map element controllers without explicitly provided IDs
-    elements.putAll(mapElementsWithoutExplicitId(controllerFields, container, loadedLocators));
-
     if (MapUtils.isNotEmpty(elements)) {
       container.setElements(elements);
     }
+    return createdElements;
   }
 
-  private Map<String, IInteractiveElement> resolveElementIdsClassMapping(Class<?> elementIdsClass,
-      List<Field> controllerFields, IElementsContainer container,
-      Map<String, List<String>> loadedLocators) throws IllegalAccessException {
-    Map<String, IInteractiveElement> elements = new LinkedHashMap<>();
-
-    Field[] idFields = elementIdsClass.getFields();
-
-    for (Field idField : idFields) {
-      String idFieldName = idField.getName();
-
-      Object elementIdObj = FieldUtils.readStaticField(idField, true);
-      String elementId;
-      if (elementIdObj != null) {
-        elementId = elementIdObj.toString();
-      } else {
-        elementId = idFieldName;
-        FieldUtils.writeStaticField(idField, elementId);
-      }
-
-      IInteractiveElement element = getMappedElement(idFieldName, elementId, controllerFields,
-          container, loadedLocators.get(elementId));
-
-      if (element != null) {
-        elements.put(DataObject.sanitizeElementId(elementId), element);
-      }
+  private String getElementId(@NonNull Field controllerField, @Nullable Element elementProps) {
+    String elementId = null;
+    if (elementProps != null) {
+      elementId = elementProps.id();
     }
-    return elements;
-  }
-
-  private IInteractiveElement getMappedElement(String idFieldName, String elementId,
-      @NonNull List<Field> controllerFields, IElementsContainer container,
-      List<String> loadedLocators) {
-    for (Field controllerField : controllerFields) {
-      if (controllerField.isAnnotationPresent(Element.class) &&
-          controllerField.getAnnotation(Element.class).id().equals(elementId) ||
-          controllerField.getName().equalsIgnoreCase(idFieldName)) {
-
-        IInteractiveElement element = initElement(elementId, controllerField, container,
-            loadedLocators);
-
-        controllerFields.remove(controllerField);
-        return element;
-      }
+    if (StringUtils.isBlank(elementId)) {
+      elementId = StringUtils
+          .join(StringUtils.splitByCharacterTypeCamelCase(controllerField.getName()), "_")
+          .toLowerCase();
     }
-    return null;
-  }
-
-  private @NonNull
-  Map<String, IInteractiveElement> mapElementsWithoutExplicitId(List<Field> controllerFields,
-      IElementsContainer container, Map<String, List<String>> loadedLocators) {
-    Map<String, IInteractiveElement> elements = new LinkedHashMap<>();
-
-    for (Field controllerField : controllerFields) {
-      String elementId = null;
-      var elementProps = getElementProps(controllerField);
-      if (elementProps != null) {
-        elementId = elementProps.id();
-      }
-      if (StringUtils.isBlank(elementId)) {
-        elementId = StringUtils
-            .join(StringUtils.splitByCharacterTypeCamelCase(controllerField.getName()), "_")
-            .toLowerCase();
-      }
-
-      IInteractiveElement element = initElement(elementId, controllerField, container,
-          loadedLocators.get(elementId));
-      elements.put(DataObject.sanitizeElementId(elementId), element);
-    }
-
-    return elements;
+    return elementId;
   }
 
   /**
@@ -454,56 +584,50 @@ public class ContainersFactory implements InitializingBean, DisposableBean {
    * explicitly created; - assigns locator if it was not specified explicitly; - sets name of
    * element; - sets dynamic mark; - sets context lookup mark.
    *
-   * @param elementId       - internal ID of an element
-   * @param controllerField - field of an element controller
-   * @param container       - instance of an element's container
-   * @param locators        - locators, loaded from an external source;
+   * @param spec      - resolved parameters of an element
+   * @param container - instance of an element's container
    * @return and instance of Interactive Element
    */
-  private IInteractiveElement initElement(String elementId, Field controllerField,
-      IElementsContainer container, List<String> locators) {
-    //Get element controller
-    IInteractiveElement element = readElementInstance(controllerField, container);
+  private IInteractiveElement initElement(ContainerSpec.ElementSpec spec,
+      IElementsContainer container) {
+    return initElement(spec, container, readElementInstance(spec.getField(), container));
+  }
+
+  private IInteractiveElement initElement(ContainerSpec.ElementSpec spec,
+      IElementsContainer container, @Nullable IInteractiveElement element) {
+    Field controllerField = spec.getField();
+    List<String> elementLocators = spec.getLocators();
 
     //If element controller was not explicitly instantiated try to create an instance
     if (element == null) {
-      List<String> elementLocators = locators;
       if (CollectionUtils.isEmpty(elementLocators)) {
-        elementLocators = getElementLocators(controllerField);
-        if (CollectionUtils.isEmpty(elementLocators)) {
-          throw getException(EXCEPTION_NO_LOCATORS, ((INamed) container).getName(), elementId);
-        }
+        throw getException(EXCEPTION_NO_LOCATORS, ((INamed) container).getName(),
+            spec.getElementId());
       }
-
-      Class<? extends IInteractiveElement> controllerClass = getControllerClass(controllerField);
-      element = createElementController(controllerClass, elementLocators);
+      element = createElementController(spec.getControllerClass(), elementLocators);
     } else if (StringUtils.isBlank(element.getLocator())) {
       //If controller was instantiated, but has no assigned locator (e.g. explicitly created without provided locator)
-      List<String> elementLocators = locators;
-      if (CollectionUtils.isEmpty(elementLocators)) {
-        elementLocators = getElementLocators(controllerField);
-      }
       if (CollectionUtils.isNotEmpty(elementLocators)) {
         element.setLocator(elementLocators.get(0));
       } else {
-        throw getException(EXCEPTION_NO_LOCATORS, ((INamed) container).getName(), elementId);
+        throw getException(EXCEPTION_NO_LOCATORS, ((INamed) container).getName(),
+            spec.getElementId());
       }
     }
 
-    setElementContext(element, container, controllerField);
+    setElementContext(element, container, spec);
     addDefaultListeners(element);
-    setElementName(element, controllerField, elementId);
-    setElementOptionalMark(element, controllerField);
-    setElementContextLookup(element, controllerField);
-    setNextPage(element, controllerField, container);
-    setReader(element, controllerField);
+    INamed.setNameIfApplicable(element, spec.getName());
+    if (spec.getOptional() != null) {
+      element.setOptional(spec.getOptional());
+    }
+    element.setContextLookup(spec.isContextLookup());
+    setNextPage(element, container, spec);
+    setReader(element, spec);
 
-    if (controllerField.getType().equals(IndexedElement.class)
-        && !(element instanceof IndexedElement)) {
-      element = applicationContext.getBean(IndexedElement.class, element);
-    } else if (controllerField.getType().equals(TemplatedElement.class)
-        && !(element instanceof TemplatedElement)) {
-      element = applicationContext.getBean(TemplatedElement.class, element);
+    Class<? extends IInteractiveElement> wrapperClass = spec.getWrapperClass();
+    if (wrapperClass != null && !wrapperClass.isInstance(element)) {
+      element = applicationContext.getBean(wrapperClass, element);
     }
 
     writeElementInstance(controllerField, container, element);
@@ -511,29 +635,90 @@ public class ContainersFactory implements InitializingBean, DisposableBean {
     return element;
   }
 
+  /**
+   * Assigns a proxy to an element field of a lazy container. Actual controller is created and
+   * initialized on the first call of any proxy method. An element is initialized eagerly if its
+   * controller was explicitly instantiated, if it has no locators or if its class can't be proxied.
+   *
+   * @param spec      - resolved parameters of an element
+   * @param container - instance of an element's container
+   * @return a proxy of an element controller or an initialized controller
+   */
+  private IInteractiveElement initLazyElement(ContainerSpec.ElementSpec spec,
+      IElementsContainer container) {
+    IInteractiveElement element = readElementInstance(spec.getField(), container);
+    Class<? extends IInteractiveElement> elementClass = spec.getElementClass();
+    if (element != null || elementClass == null || Modifier.isFinal(elementClass.getModifiers())
+        || CollectionUtils.isEmpty(spec.getLocators())) {
+      return initElement(spec, container, element);
+    }
+
+    var proxyFactory = new ProxyFactory();
+    proxyFactory.setProxyTargetClass(true);
+    proxyFactory.setTargetSource(new LazyElementTargetSource(spec, container));
+    var proxy = (IInteractiveElement) proxyFactory.getProxy(elementClass.getClassLoader());
+    writeElementInstance(spec.getField(), container, proxy);
+    return proxy;
+  }
+
+  /**
+   * Creates an element controller of a lazy container on first use and replaces the proxy in the
+   * element field and in the container's collection of elements
+   */
+  private class LazyElementTargetSource extends AbstractLazyCreationTargetSource {
+
+    private final ContainerSpec.ElementSpec spec;
+    private final IElementsContainer container;
+
+    private LazyElementTargetSource(ContainerSpec.ElementSpec spec,
+        IElementsContainer container) {
+      this.spec = spec;
+      this.container = container;
+    }
+
+    @Override
+    public Class<?> getTargetClass() {
+      return spec.getElementClass();
+    }
+
+    @Override
+    protected Object createObject() {
+      IInteractiveElement element = initElement(spec, container, null);
+      container.getElements().replace(DataObject.sanitizeElementId(spec.getElementId()), element);
+      metrics.containers().recordElementCreated(container.getClass());
+      return element;
+    }
+  }
+
   private void setElementContext(IInteractiveElement element, IElementsContainer container,
-      Field controllerField) {
-    var elementProps = getElementProps(controllerField);
-    if (elementProps != null) {
-      Class<? extends ILocatable> contextClass = elementProps.context();
-      if (!contextClass.equals(NoopElement.class)) {
-        ILocatable context = applicationContext.getBean(contextClass);
-        context.getRealLocatableObjectDeque().pop().setContext(container);
-        element.setContext(context);
-        return;
-      }
+      ContainerSpec.ElementSpec spec) {
+    Class<? extends ILocatable> contextClass = spec.getContextClass();
+    if (contextClass == null) {
+      element.setContext(container);
+    } else if (element instanceof ArmaElement) {
+      ((ArmaElement) element)
+          .setContextSupplier(() -> getElementContext(contextClass, container));
+    } else {
+      element.setContext(getElementContext(contextClass, container));
     }
-    element.setContext(container);
   }
 
-  private void setContainerContext(IElementsContainer container) {
-    var containerProps = getContainerProps(container);
-    if (containerProps != null) {
-      Class<? extends ILocatable> contextClass = containerProps.context();
-      if (!contextClass.equals(NoopElement.class)) {
-        ILocatable context = applicationContext.getBean(contextClass);
-        container.setContext(context);
-      }
+  private ILocatable getElementContext(Class<? extends ILocatable> contextClass,
+      IElementsContainer container) {
+    ILocatable context = applicationContext.getBean(contextClass);
+    context.getRealLocatableObjectDeque().pop().setContext(container);
+    return context;
+  }
+
+  private void setContainerContext(IElementsContainer container, ContainerSpec spec) {
+    Class<? extends ILocatable> contextClass = spec.getContextClass();
+    if (contextClass == null) {
+      return;
+    }
+    if (container instanceof ArmaContainer) {
+      ((ArmaContainer) container).setContextClass(contextClass);
+    } else {
+      container.setContext(applicationContext.getBean(contextClass));
     }
   }
 
@@ -567,11 +752,16 @@ public class ContainersFactory implements InitializingBean, DisposableBean {
     }
   }
 
-  @SuppressWarnings("unchecked")
   private @NonNull
   Class<? extends IInteractiveElement> getControllerClass(@NonNull Field controllerField) {
+    return getControllerClass(controllerField, getElementProps(controllerField));
+  }
+
+  @SuppressWarnings("unchecked")
+  private @NonNull
+  Class<? extends IInteractiveElement> getControllerClass(@NonNull Field controllerField,
+      @Nullable Element elementProps) {
     Class<?> fieldType = controllerField.getType();
-    var elementProps = getElementProps(controllerField);
     Class<?> elementType = elementProps != null ? elementProps.type() : NoopElement.class;
     if (ReflectionUtils.isGenericType(fieldType)) {
       Class<?> genericType = ReflectionUtils.getGenericClass(controllerField.getGenericType(), 0);
@@ -622,46 +812,50 @@ public class ContainersFactory implements InitializingBean, DisposableBean {
     }
   }
 
-  private void setElementName(@NonNull IInteractiveElement element, @NonNull Field controllerField,
-      @Nullable String elementId) {
-    if (element instanceof INamed) {
-      String name = null;
-      var elementProps = getElementProps(controllerField);
-      if (elementProps != null) {
-        name = elementProps.name().trim();
-      }
-      if (StringUtils.isBlank(name)) {
-        if (StringUtils.isNotBlank(elementId)) {
-          name = WordUtils.capitalize(elementId.replace("_", " "));
-        } else {
-          name = StringUtils.capitalize(
-              StringUtils.join(
-                  StringUtils.splitByCharacterTypeCamelCase(controllerField.getName()),
-                  " ")
-          );
-        }
+  private String getElementName(@NonNull Field controllerField, @Nullable String elementId,
+      @Nullable Element elementProps) {
+    String name = null;
+    if (elementProps != null) {
+      name = elementProps.name().trim();
+    }
+    if (StringUtils.isBlank(name)) {
+      if (StringUtils.isNotBlank(elementId)) {
+        name = WordUtils.capitalize(elementId.replace("_", " "));
+      } else {
+        name = StringUtils.capitalize(
+            StringUtils.join(
+                StringUtils.splitByCharacterTypeCamelCase(controllerField.getName()),
+                " ")
+        );
       }
-      ((INamed) element).setName(name);
     }
+    return name;
   }
 
-  private void setReader(IInteractiveElement element, Field controllerField) {
-    if (element instanceof ArmaElement) {
-      var elementProps = getElementProps(controllerField);
-      if (elementProps != null) {
-        var readerProps = elementProps.reader();
-        Class<? extends Function<IInteractiveElement, String>> type = readerProps.value();
-        if (!Objects.equals(type, NoopReader.class)) {
-          Object[] args = readerProps.args();
-          Function<IInteractiveElement, String> reader = applicationContext.getBean(type, args);
-          ((ArmaElement) element).setReader(reader);
-        }
-      }
+  private void setReader(IInteractiveElement element, ContainerSpec.ElementSpec spec) {
+    if (element instanceof ArmaElement && spec.getReaderClass() != null) {
+      Function<IInteractiveElement, String> reader = applicationContext
+          .getBean(spec.getReaderClass(), spec.getReaderArgs());
+      ((ArmaElement) element).setReader(reader);
     }
   }
 
+  /**
+   * Creates a copy of a given container. If a container is a plain {@link ArmaContainer} (it has no
+   * {@code @Container} fields and doesn't override {@code afterPropertiesSet}), the copy is built
+   * from the already initialized container: dependencies of the copy are injected by the context of
+   * this factory, spec-derived state is taken from a given container, element controllers are
+   * copied from controllers of a given container and get the copy as their context. Otherwise a
+   * new instance is created and fully initialized by the bean factory.
+   *
+   * @param anotherContainer - an initialized container
+   * @return a copy of a given container
+   */
   @SuppressWarnings("unchecked")
   public <T extends IBatchElementsContainer> T cloneContainer(T anotherContainer) {
+    if (isCopyable(anotherContainer.getClass())) {
+      return (T) copyContainer((ArmaContainer) anotherContainer);
+    }
     Class<? extends IBatchElementsContainer> clazz = anotherContainer.getClass();
     var container = (T) BeanUtils.instantiateClass(clazz);
     DefaultListableBeanFactory factory = (DefaultListableBeanFactory) ((ConfigurableApplicationContext) applicationContext)
@@ -673,9 +867,97 @@ public class ContainersFactory implements InitializingBean, DisposableBean {
     return container;
   }
 
+  static boolean isCopyable(Class<?> clazz) {
+    return COPYABLE_CONTAINERS.get(clazz);
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private ArmaContainer copyContainer(ArmaContainer template) {
+    Class<? extends ArmaContainer> clazz = template.getClass();
+    ArmaContainer container = BeanUtils.instantiateClass(clazz);
+    applicationContext.getAutowireCapableBeanFactory().autowireBean(container);
+    copyContainerState(template, container);
+    if (container instanceof IndexedContainer) {
+      ((IndexedContainer) container).wrap(container);
+    }
+
+    ContainerSpec spec = getContainerSpec(clazz);
+    Map<String, IInteractiveElement> elements = new LinkedHashMap<>();
+    for (ContainerSpec.ElementSpec elementSpec : spec.getElements()) {
+      String elementId = DataObject.sanitizeElementId(elementSpec.getElementId());
+      IInteractiveElement element = copyElement(template.getElements().get(elementId),
+          elementSpec, container);
+      if (element == null) {
+        element = spec.isLazy() ?
+            initLazyElement(elementSpec, container) : initElement(elementSpec, container);
+      }
+      elements.put(elementId, element);
+    }
+    if (MapUtils.isNotEmpty(elements)) {
+      container.setElements(elements);
+    }
+    return container;
+  }
+
+  /**
+   * Copies spec-derived state of a container: name, locator, context lookup flag, context and url
+   */
+  static void copyContainerState(ArmaContainer template, ArmaContainer container) {
+    container.name = template.name;
+    container.locator = template.locator;
+    container.contextLookup = template.contextLookup;
+    container.context = template.context;
+    container.contextClass = template.contextClass;
+    container.url = template.url;
+  }
+
+  /**
+   * Copies spec-derived state of a controller: locator, name, optional and context lookup flags and
+   * listeners. Injected dependencies and the context are not copied
+   */
+  static void copyElementState(ArmaElement source, ArmaElement element) {
+    element.setLocator(source.getLocator());
+    element.setName(source.getName());
+    element.setOptional(source.isOptional());
+    element.setContextLookup(source.useContextLookup());
+    element.setListenerChain(source.getListenerChain());
+  }
+
+  /**
+   * Copies a controller of a template container for another container without a bean lookup. The
+   * copy is injected and initialized by the context of this factory, and only spec-derived state is
+   * taken from the template: locator, name, optional and context lookup flags and listeners.
+   * Controllers which are wrapped, proxied or can't be instantiated by a default constructor are
+   * not copied.
+   *
+   * @return a copy of a controller or null if a controller can't be copied
+   */
+  private @Nullable
+  IInteractiveElement copyElement(@Nullable IInteractiveElement template,
+      ContainerSpec.ElementSpec spec, IElementsContainer container) {
+    if (!(template instanceof ArmaElement) || spec.getWrapperClass() != null
+        || AopUtils.isAopProxy(template) || !ClassUtils.hasConstructor(template.getClass())) {
+      return null;
+    }
+    var source = (ArmaElement) template;
+    AutowireCapableBeanFactory factory = applicationContext.getAutowireCapableBeanFactory();
+    ArmaElement element = BeanUtils
+        .instantiateClass(template.getClass().asSubclass(ArmaElement.class));
+    factory.autowireBean(element);
+    Object initialized = factory.initializeBean(element, spec.getElementId());
+    if (initialized != element) {
+      return null;
+    }
+    copyElementState(source, element);
+    setReader(element, spec);
+    setElementContext(element, container, spec);
+    setNextPage(element, container, spec);
+    writeElementInstance(spec.getField(), container, element);
+    return element;
+  }
+
   private @NonNull
-  List<String> getElementLocators(@NonNull Field controllerField) {
-    var elementProps = getElementProps(controllerField);
+  List<String> getElementLocators(@Nullable Element elementProps) {
     if (elementProps != null) {
       List<String> locators = Arrays.asList(elementProps.locators());
       if (CollectionUtils.isNotEmpty(locators)) {
@@ -872,42 +1154,19 @@ public class ContainersFactory implements InitializingBean, DisposableBean {
     return null;
   }
 
-  private void setElementOptionalMark(IInteractiveElement element, Field controllerField) {
-    if (controllerField.isAnnotationPresent(Optional.class)) {
-      element.setOptional(true);
-    } else {
-      var elementProps = getElementProps(controllerField);
-      if (elementProps != null) {
-        element.setOptional(elementProps.optional());
-      }
-    }
-  }
-
-  private void setElementContextLookup(@NonNull IInteractiveElement element,
-      @NonNull Field controllerField) {
-    var useContextLookup = true;
-    var elementProps = getElementProps(controllerField);
-    if (elementProps != null) {
-      useContextLookup = elementProps.contextLookup();
-    }
-    element.setContextLookup(useContextLookup);
-  }
-
-  private void setNextPage(IInteractiveElement element, Field controllerField,
-      IElementsContainer container) {
-    var elementProps = getElementProps(controllerField);
-    if (elementProps != null) {
-      Class<? extends IInteractiveContainer> nextPageClass = elementProps.nextPage();
-      if (!nextPageClass.equals(ArmaContainer.class) && IInteractiveContainer.class
-          .isAssignableFrom(nextPageClass)) {
-        element.setNextPage(nextPageClass);
-        return;
-      }
+  private void setNextPage(IInteractiveElement element, IElementsContainer container,
+      ContainerSpec.ElementSpec spec) {
+    Class<? extends IInteractiveContainer> nextPageClass = spec.getNextPageClass();
+    if (nextPageClass != null) {
+      element.setNextPage(nextPageClass);
+      return;
     }
     element.setNextPage((IInteractiveContainer) container);
   }
 
   public void initTable(@NonNull Table instance) throws IllegalAccessException {
+    long start = System.nanoTime();
+    var createdCells = 0;
     Map<String, Column<IInteractiveElement>> namedColumns = new LinkedHashMap<>();
     Map<Integer, Column<IInteractiveElement>> indexedColumns = new LinkedHashMap<>();
 
@@ -930,6 +1189,7 @@ public class ContainersFactory implements InitializingBean, DisposableBean {
               (Column<IInteractiveElement>) FieldUtils.readField(columnField, instance, true);
       if (column == null) {
         IInteractiveElement cell = createCellInstance(columnField);
+        createdCells++;
         cell.setContext(instance);
         column = applicationContext.getBean(Column.class, cell);
         FieldUtils.writeField(columnField, instance, column);
@@ -956,6 +1216,8 @@ public class ContainersFactory implements InitializingBean, DisposableBean {
 
     instance.setNamedColumns(namedColumns);
     instance.setIndexedColumns(indexedColumns);
+    initializedContainers.increment();
+    metrics.containers().recordInit(clazz, System.nanoTime() - start, createdCells);
   }
 
   private void setTableLocator(@NonNull Table instance) {
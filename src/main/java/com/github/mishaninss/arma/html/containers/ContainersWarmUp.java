@@ -0,0 +1,418 @@
+package com.github.mishaninss.arma.html.containers;
+
+import com.github.mishaninss.arma.data.UiCommonsProperties;
+import com.github.mishaninss.arma.html.containers.annotations.Container;
+import com.github.mishaninss.arma.html.containers.annotations.ContextualContainer;
+import com.github.mishaninss.arma.html.containers.annotations.ContextualElement;
+import com.github.mishaninss.arma.html.containers.annotations.Element;
+import com.github.mishaninss.arma.html.containers.annotations.Nested;
+import com.github.mishaninss.arma.html.containers.table.annotations.IContextualTable;
+import com.github.mishaninss.arma.html.containers.table.annotations.ITable;
+import com.github.mishaninss.arma.html.interfaces.IElementsContainer;
+import com.github.mishaninss.arma.metrics.ArmaMetrics;
+import com.github.mishaninss.arma.uidriver.Arma;
+import com.google.common.base.Preconditions;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.apache.commons.lang3.reflect.FieldUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Initializes container beans of a context up front, so the cost of initializing is not paid on the
+ * first interaction. Singleton container definitions are marked lazy, so the bean factory doesn't
+ * create them one by one during pre-instantiation. After other singletons are instantiated, specs
+ * of container classes are resolved in parallel, then containers, which were not created as
+ * dependencies of other beans, are created in waves: a bean is created after beans of its
+ * {@code @Nested} declaring class, {@code context()}, {@code nextPage()} and {@code @Container}
+ * field classes. Beans of every wave are requested in parallel on a dedicated {@link ForkJoinPool}.
+ * Worker threads are bound to {@link Arma}, {@link ContainersFactory} and
+ * {@link UiCommonsProperties} of the context.
+ * <p>
+ * Prototype beans, e.g. tables, are not created, since an instance created up front is never used.
+ * Note that a bean factory, which creates singletons under a global lock, creates beans of a wave
+ * one at a time. Spec resolving, which includes reading of locator files, is not limited by the
+ * lock.
+ */
+public class ContainersWarmUp implements BeanFactoryPostProcessor, SmartInitializingSingleton {
+
+  public static final String BEAN_NAME = "armaContainersWarmUp";
+  private static final Logger LOGGER = LoggerFactory.getLogger(ContainersWarmUp.class);
+
+  private final ConfigurableApplicationContext applicationContext;
+  private final int parallelism;
+  private volatile Report report;
+
+  public ContainersWarmUp(ConfigurableApplicationContext applicationContext, int parallelism) {
+    Preconditions.checkNotNull(applicationContext, "applicationContext value cannot be null");
+    Preconditions.checkArgument(parallelism > 0, "parallelism must be positive");
+    this.applicationContext = applicationContext;
+    this.parallelism = parallelism;
+  }
+
+  @Override
+  public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+    for (String beanName : beanFactory.getBeanDefinitionNames()) {
+      BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+      if (definition.isAbstract() || !definition.isSingleton()
+          || definition.getBeanClassName() == null) {
+        continue;
+      }
+      Class<?> type;
+      try {
+        type = ClassUtils.forName(definition.getBeanClassName(), beanFactory.getBeanClassLoader());
+      } catch (ClassNotFoundException | LinkageError ex) {
+        continue;
+      }
+      if (isContainer(type)) {
+        definition.setLazyInit(true);
+      }
+    }
+  }
+
+  @Override
+  public void afterSingletonsInstantiated() {
+    if (report != null) {
+      return;
+    }
+    report = warmUp();
+    LOGGER.info("{}", report);
+  }
+
+  /**
+   * Returns report of the warm-up or null if singletons of the context were not instantiated yet
+   */
+  public Report getReport() {
+    return report;
+  }
+
+  private Report warmUp() {
+    long start = System.nanoTime();
+    Map<Class<?>, String> beans = getContainerBeans();
+    var binding = new ThreadBinding(applicationContext);
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+    try {
+      prepareSpecs(pool, binding, getContainerClasses());
+      List<Report.Entry> entries = new ArrayList<>();
+      List<List<Class<?>>> waves = getWaves(beans.keySet());
+      for (var wave = 0; wave < waves.size(); wave++) {
+        entries.addAll(initWave(pool, binding, beans, waves.get(wave), wave));
+      }
+      return new Report(entries, System.nanoTime() - start);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  /**
+   * Returns singleton container beans, which were not created yet
+   */
+  private Map<Class<?>, String> getContainerBeans() {
+    ConfigurableListableBeanFactory factory = applicationContext.getBeanFactory();
+    Map<Class<?>, String> beans = new LinkedHashMap<>();
+    for (String beanName : factory.getBeanDefinitionNames()) {
+      BeanDefinition definition = factory.getBeanDefinition(beanName);
+      if (definition.isAbstract() || !definition.isSingleton()
+          || factory.containsSingleton(beanName)) {
+        continue;
+      }
+      Class<?> type = factory.getType(beanName);
+      if (type != null && isContainer(ClassUtils.getUserClass(type))) {
+        beans.putIfAbsent(ClassUtils.getUserClass(type), beanName);
+      }
+    }
+    return beans;
+  }
+
+  private Set<Class<?>> getContainerClasses() {
+    ConfigurableListableBeanFactory factory = applicationContext.getBeanFactory();
+    Set<Class<?>> classes = new LinkedHashSet<>();
+    for (String beanName : factory.getBeanDefinitionNames()) {
+      if (factory.getBeanDefinition(beanName).isAbstract()) {
+        continue;
+      }
+      Class<?> type = factory.getType(beanName);
+      if (type != null && isContainer(ClassUtils.getUserClass(type))) {
+        classes.add(ClassUtils.getUserClass(type));
+      }
+    }
+    return classes;
+  }
+
+  private static boolean isContainer(Class<?> clazz) {
+    return clazz.isAnnotationPresent(Container.class)
+        || clazz.isAnnotationPresent(ContextualContainer.class)
+        || isTable(clazz);
+  }
+
+  private static boolean isTable(Class<?> clazz) {
+    return clazz.isAnnotationPresent(ITable.class)
+        || clazz.isAnnotationPresent(IContextualTable.class);
+  }
+
+  /**
+   * Resolves and caches specs of container classes. Specs are built without creating beans, so
+   * this phase is not limited by locks of a bean factory
+   */
+  private void prepareSpecs(ForkJoinPool pool, ThreadBinding binding, Set<Class<?>> classes) {
+    var containersFactory = applicationContext.getBean(ContainersFactory.class);
+    try {
+      pool.submit(() -> classes.parallelStream()
+          .filter(clazz -> !isTable(clazz) && IElementsContainer.class.isAssignableFrom(clazz))
+          .forEach(clazz -> binding.run(() -> {
+            try {
+              containersFactory.prepareContainerSpec(clazz);
+            } catch (Exception ex) {
+              LOGGER.debug("Could not resolve spec of the container {}", clazz.getName(), ex);
+            }
+            return null;
+          }))).get();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException ex) {
+      LOGGER.debug("Could not resolve container specs", ex);
+    }
+  }
+
+  private List<Report.Entry> initWave(ForkJoinPool pool, ThreadBinding binding,
+      Map<Class<?>, String> beans, List<Class<?>> wave, int waveIndex) {
+    List<Callable<Report.Entry>> tasks = wave.stream()
+        .map(clazz -> (Callable<Report.Entry>) () -> binding
+            .run(() -> initBean(beans.get(clazz), clazz, waveIndex)))
+        .collect(Collectors.toList());
+    List<Report.Entry> entries = new ArrayList<>();
+    for (Future<Report.Entry> future : pool.invokeAll(tasks)) {
+      try {
+        entries.add(future.get());
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        return entries;
+      } catch (ExecutionException ex) {
+        LOGGER.debug("Container warm-up task failed", ex);
+      }
+    }
+    return entries;
+  }
+
+  private Report.Entry initBean(String beanName, Class<?> beanClass, int wave) {
+    long start = System.nanoTime();
+    try {
+      applicationContext.getBean(beanName);
+      return new Report.Entry(beanName, beanClass, wave, System.nanoTime() - start, null);
+    } catch (Exception ex) {
+      return new Report.Entry(beanName, beanClass, wave, System.nanoTime() - start, ex);
+    }
+  }
+
+  /**
+   * Splits container classes into waves, so dependencies of a class are initialized in previous
+   * waves. Classes with cyclic dependencies are put into the last wave
+   */
+  private static List<List<Class<?>>> getWaves(Set<Class<?>> classes) {
+    Map<Class<?>, Set<Class<?>>> dependencies = new LinkedHashMap<>();
+    classes.forEach(clazz -> {
+      Set<Class<?>> classDependencies = getDependencies(clazz);
+      classDependencies.retainAll(classes);
+      classDependencies.remove(clazz);
+      dependencies.put(clazz, classDependencies);
+    });
+
+    List<List<Class<?>>> waves = new ArrayList<>();
+    Set<Class<?>> initialized = new LinkedHashSet<>();
+    while (!dependencies.isEmpty()) {
+      List<Class<?>> wave = dependencies.entrySet().stream()
+          .filter(entry -> initialized.containsAll(entry.getValue()))
+          .map(Map.Entry::getKey)
+          .collect(Collectors.toList());
+      if (wave.isEmpty()) {
+        wave = new ArrayList<>(dependencies.keySet());
+      }
+      wave.forEach(dependencies::remove);
+      initialized.addAll(wave);
+      waves.add(wave);
+    }
+    return waves;
+  }
+
+  private static Set<Class<?>> getDependencies(Class<?> clazz) {
+    Set<Class<?>> dependencies = new LinkedHashSet<>();
+    if (clazz.isAnnotationPresent(Nested.class) && clazz.getDeclaringClass() != null) {
+      dependencies.add(clazz.getDeclaringClass());
+    }
+    List<Container> containers = new ArrayList<>();
+    if (clazz.isAnnotationPresent(ContextualContainer.class)) {
+      containers.addAll(Arrays.asList(clazz.getAnnotation(ContextualContainer.class).value()));
+    } else if (clazz.isAnnotationPresent(Container.class)) {
+      containers.add(clazz.getAnnotation(Container.class));
+    }
+    containers.forEach(container -> dependencies.add(container.context()));
+    if (clazz.isAnnotationPresent(IContextualTable.class)) {
+      Arrays.stream(clazz.getAnnotation(IContextualTable.class).value())
+          .forEach(table -> dependencies.add(table.context()));
+    } else if (clazz.isAnnotationPresent(ITable.class)) {
+      dependencies.add(clazz.getAnnotation(ITable.class).context());
+    }
+
+    List<Element> elements = new ArrayList<>();
+    for (Field field : FieldUtils.getFieldsListWithAnnotation(clazz, Element.class)) {
+      elements.add(field.getAnnotation(Element.class));
+    }
+    for (Field field : FieldUtils.getFieldsListWithAnnotation(clazz, ContextualElement.class)) {
+      elements.addAll(Arrays.asList(field.getAnnotation(ContextualElement.class).value()));
+    }
+    elements.forEach(element -> {
+      dependencies.add(element.context());
+      dependencies.add(element.nextPage());
+    });
+    FieldUtils.getFieldsListWithAnnotation(clazz, Container.class)
+        .forEach(field -> dependencies.add(field.getType()));
+    return dependencies;
+  }
+
+  /**
+   * Binds thread-local instances of a context to worker threads for the time of a task. The thread,
+   * which started the warm-up, is already bound and is left as is
+   */
+  private static final class ThreadBinding {
+
+    private final Thread owner = Thread.currentThread();
+    private final Arma arma;
+    private final ContainersFactory containersFactory;
+    private final UiCommonsProperties properties;
+    private final ArmaMetrics metrics;
+
+    private ThreadBinding(ConfigurableApplicationContext applicationContext) {
+      arma = applicationContext.getBean(Arma.class);
+      containersFactory = applicationContext.getBean(ContainersFactory.class);
+      properties = applicationContext.getBean(UiCommonsProperties.class);
+      metrics = applicationContext.getBean(ArmaMetrics.class);
+    }
+
+    private <T> T run(Callable<T> task) {
+      if (Thread.currentThread() == owner) {
+        return call(task);
+      }
+      arma.bindToCurrentThread();
+      containersFactory.bindToCurrentThread();
+      properties.bindToCurrentThread();
+      metrics.bindToCurrentThread();
+      try {
+        return call(task);
+      } finally {
+        Arma.unbindFromCurrentThread();
+        ContainersFactory.unbindFromCurrentThread();
+        UiCommonsProperties.unbindFromCurrentThread();
+        ArmaMetrics.unbindFromCurrentThread();
+      }
+    }
+
+    private static <T> T call(Callable<T> task) {
+      try {
+        return task.call();
+      } catch (RuntimeException ex) {
+        throw ex;
+      } catch (Exception ex) {
+        throw new IllegalStateException(ex);
+      }
+    }
+  }
+
+  /**
+   * Report of a container warm-up: initializing time and failure of every container bean
+   */
+  public static final class Report {
+
+    private final List<Entry> entries;
+    private final long totalNanos;
+
+    private Report(List<Entry> entries, long totalNanos) {
+      this.entries = Collections.unmodifiableList(entries);
+      this.totalNanos = totalNanos;
+    }
+
+    public List<Entry> getEntries() {
+      return entries;
+    }
+
+    public List<Entry> getFailures() {
+      return entries.stream().filter(entry -> entry.getFailure() != null)
+          .collect(Collectors.toList());
+    }
+
+    public long getTotalTimeMillis() {
+      return TimeUnit.NANOSECONDS.toMillis(totalNanos);
+    }
+
+    @Override
+    public String toString() {
+      var sb = new StringBuilder()
+          .append(String.format("Containers warm-up: %d containers, %d failures, %d ms",
+              entries.size(), getFailures().size(), getTotalTimeMillis()));
+      entries.forEach(entry -> sb.append(System.lineSeparator()).append("  ").append(entry));
+      return sb.toString();
+    }
+
+    public static final class Entry {
+
+      private final String beanName;
+      private final Class<?> beanClass;
+      private final int wave;
+      private final long nanos;
+      private final Exception failure;
+
+      private Entry(String beanName, Class<?> beanClass, int wave, long nanos,
+          Exception failure) {
+        this.beanName = beanName;
+        this.beanClass = beanClass;
+        this.wave = wave;
+        this.nanos = nanos;
+        this.failure = failure;
+      }
+
+      public String getBeanName() {
+        return beanName;
+      }
+
+      public Class<?> getBeanClass() {
+        return beanClass;
+      }
+
+      public int getWave() {
+        return wave;
+      }
+
+      public long getTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+      }
+
+      public Exception getFailure() {
+        return failure;
+      }
+
+      @Override
+      public String toString() {
+        return String.format("[%d] %s (%s): %d ms%s", wave, beanName, beanClass.getName(),
+            getTimeMillis(), failure != null ? " FAILED: " + failure.getMessage() : "");
+      }
+    }
+  }
+}
@@ -2,6 +2,7 @@ package com.github.mishaninss.arma.html.containers;
 
 import com.github.mishaninss.arma.html.containers.interfaces.IBatchElementsContainer;
 import com.github.mishaninss.arma.html.interfaces.INamed;
+import com.github.mishaninss.arma.uidriver.Locator;
 import com.github.mishaninss.arma.uidriver.annotations.ElementsDriver;
 import com.github.mishaninss.arma.uidriver.interfaces.IElementsDriver;
 import com.github.mishaninss.arma.uidriver.interfaces.ILocatable;
@@ -45,9 +46,7 @@ public class IndexedContainer<T extends IBatchElementsContainer> extends ArmaCon
   }
 
   public static String getIndexedLocator(String locator, int index) {
-    return locator.contains("%d")
-        ? String.format(locator, index)
-        : "#" + index + "#" + locator;
+    return Locator.parse(locator).withIndex(index).toString();
   }
 
   public static String getLocatorForCounting(String locator) {
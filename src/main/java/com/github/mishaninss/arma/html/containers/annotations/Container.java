@@ -75,4 +75,11 @@ public @interface Container {
   String byArg() default "";
 
   Class<? extends ILocatable> context() default NoopElement.class;
+
+  /**
+   * Indicates if element controllers of a container have to be created on first use. Element
+   * fields of a lazy container hold proxies, which create and initialize actual controllers when
+   * any of their methods is called for the first time
+   */
+  boolean lazy() default false;
 }
@@ -0,0 +1,154 @@
+package com.github.mishaninss.arma.html.containers.descriptors;
+
+import com.github.mishaninss.arma.exceptions.ContainerInitException;
+import com.google.common.base.Preconditions;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * Describes element fields of a container class in the order they have to be mapped to element
+ * IDs. A descriptor is either generated at build time by {@link ContainerDescriptorProcessor} or
+ * built reflectively by {@link ContainerDescriptors} when no generated descriptor exists.
+ * <p>
+ * Descriptor doesn't depend on active profiles or environment properties, so it is safe to share
+ * it between application contexts.
+ */
+public final class ContainerDescriptor {
+
+  /**
+   * Suffix of a generated descriptor provider class name. Provider of the {@code a.b.Page} class is
+   * {@code a.b.Page$$ArmaDescriptor}, provider of the {@code a.b.Page.Inner} class is
+   * {@code a.b.Page$Inner$$ArmaDescriptor}.
+   */
+  public static final String PROVIDER_SUFFIX = "$$ArmaDescriptor";
+
+  private final Class<?> containerClass;
+  private final List<ElementSlot> elements;
+  private final boolean generated;
+
+  private ContainerDescriptor(Class<?> containerClass, List<ElementSlot> elements,
+      boolean generated) {
+    this.containerClass = containerClass;
+    this.elements = Collections.unmodifiableList(elements);
+    this.generated = generated;
+  }
+
+  public static Builder builder(@NonNull Class<?> containerClass) {
+    return new Builder(containerClass, true);
+  }
+
+  static Builder reflectiveBuilder(@NonNull Class<?> containerClass) {
+    return new Builder(containerClass, false);
+  }
+
+  public Class<?> getContainerClass() {
+    return containerClass;
+  }
+
+  /**
+   * Returns element fields of a container. Fields mapped by {@code @ElementIds} classes go first,
+   * followed by the rest of element fields.
+   */
+  public List<ElementSlot> getElements() {
+    return elements;
+  }
+
+  /**
+   * Indicates if this descriptor was generated at build time
+   */
+  public boolean isGenerated() {
+    return generated;
+  }
+
+  /**
+   * Implemented by classes generated by {@link ContainerDescriptorProcessor}
+   */
+  public interface Provider {
+
+    ContainerDescriptor describe(Class<?> containerClass);
+  }
+
+  /**
+   * An element field of a container
+   */
+  public static final class ElementSlot {
+
+    private final Field field;
+    private final String elementId;
+
+    private ElementSlot(Field field, String elementId) {
+      this.field = field;
+      this.elementId = elementId;
+    }
+
+    public Field getField() {
+      return field;
+    }
+
+    /**
+     * Returns element ID explicitly provided by an {@code @ElementIds} class, or null if ID has to
+     * be resolved from element annotations or a field name
+     */
+    @Nullable
+    public String getElementId() {
+      return elementId;
+    }
+  }
+
+  public static final class Builder {
+
+    private final Class<?> containerClass;
+    private final boolean generated;
+    private final List<ElementSlot> elements = new ArrayList<>();
+
+    private Builder(Class<?> containerClass, boolean generated) {
+      Preconditions.checkNotNull(containerClass, "containerClass value cannot be null");
+      this.containerClass = containerClass;
+      this.generated = generated;
+    }
+
+    /**
+     * Adds an element field declared in the given class of a container class hierarchy
+     *
+     * @param declaringClassName - binary name of a class, which declares a field
+     * @param fieldName          - name of a field
+     * @param elementId          - explicitly provided element ID or null
+     * @return this builder
+     */
+    public Builder element(String declaringClassName, String fieldName,
+        @Nullable String elementId) {
+      return element(findField(declaringClassName, fieldName), elementId);
+    }
+
+    public Builder element(Field field, @Nullable String elementId) {
+      elements.add(new ElementSlot(field, elementId));
+      return this;
+    }
+
+    public ContainerDescriptor build() {
+      return new ContainerDescriptor(containerClass, elements, generated);
+    }
+
+    private Field findField(String declaringClassName, String fieldName) {
+      Class<?> clazz = containerClass;
+      while (clazz != null && !clazz.getName().equals(declaringClassName)) {
+        clazz = clazz.getSuperclass();
+      }
+      if (clazz == null) {
+        throw new ContainerInitException(String.format(
+            "Class [%s] is not a part of the [%s] class hierarchy", declaringClassName,
+            containerClass.getName()));
+      }
+      try {
+        return clazz.getDeclaredField(fieldName);
+      } catch (NoSuchFieldException ex) {
+        throw new ContainerInitException(String.format("Field [%s] was not found in class [%s]",
+            fieldName, declaringClassName), ex);
+      }
+    }
+  }
+}
@@ -0,0 +1,294 @@
+package com.github.mishaninss.arma.html.containers.descriptors;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+/**
+ * Generates a {@link ContainerDescriptor.Provider} for every class annotated with
+ * {@code @Container} or {@code @ContextualContainer}, so element fields of a container don't
+ * have to be discovered with reflection at runtime.
+ * <p>
+ * The processor is not registered as a service. Enable it explicitly, e.g. for Maven:
+ * <pre>
+ * &lt;annotationProcessors&gt;
+ *   &lt;annotationProcessor&gt;com.github.mishaninss.arma.html.containers.descriptors.ContainerDescriptorProcessor&lt;/annotationProcessor&gt;
+ * &lt;/annotationProcessors&gt;
+ * </pre>
+ * A descriptor is not generated for a class, which uses {@code @ElementIds} with non-constant
+ * fields or inherits {@code @ElementIds} classes. Such classes are described reflectively.
+ */
+public class ContainerDescriptorProcessor extends AbstractProcessor {
+
+  private static final String ANNOTATIONS_PACKAGE = "com.github.mishaninss.arma.html.containers.annotations.";
+  private static final String CONTAINER = ANNOTATIONS_PACKAGE + "Container";
+  private static final String CONTEXTUAL_CONTAINER = ANNOTATIONS_PACKAGE + "ContextualContainer";
+  private static final String ELEMENT = ANNOTATIONS_PACKAGE + "Element";
+  private static final String CONTEXTUAL_ELEMENT = ANNOTATIONS_PACKAGE + "ContextualElement";
+  private static final String ELEMENT_IDS = ANNOTATIONS_PACKAGE + "ElementIds";
+
+  @Override
+  public Set<String> getSupportedAnnotationTypes() {
+    Set<String> types = new LinkedHashSet<>();
+    types.add(CONTAINER);
+    types.add(CONTEXTUAL_CONTAINER);
+    return types;
+  }
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    Set<TypeElement> containers = new LinkedHashSet<>();
+    for (TypeElement annotation : annotations) {
+      containers.addAll(
+          ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(annotation)));
+    }
+    for (TypeElement container : containers) {
+      if (container.getKind() == ElementKind.CLASS) {
+        try {
+          generate(container);
+        } catch (IOException ex) {
+          processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+              "Could not generate container descriptor: " + ex.getMessage(), container);
+        }
+      }
+    }
+    return false;
+  }
+
+  private void generate(TypeElement container) throws IOException {
+    List<String[]> slots = describe(container);
+    if (slots == null) {
+      processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+          "Container descriptor was not generated, reflection will be used", container);
+      return;
+    }
+
+    PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(container);
+    String packageName = packageElement.isUnnamed() ? "" :
+        packageElement.getQualifiedName().toString();
+    String binaryName = processingEnv.getElementUtils().getBinaryName(container).toString();
+    String simpleName = (packageName.isEmpty() ? binaryName :
+        binaryName.substring(packageName.length() + 1)) + ContainerDescriptor.PROVIDER_SUFFIX;
+    String qualifiedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+
+    try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, container)
+        .openWriter()) {
+      if (!packageName.isEmpty()) {
+        writer.write("package " + packageName + ";\n\n");
+      }
+      writer.write("/**\n * Generated by " + getClass().getName() + " for " + binaryName
+          + ". Do not edit.\n */\n");
+      writer.write("public final class " + simpleName + " implements "
+          + ContainerDescriptor.Provider.class.getCanonicalName() + " {\n\n");
+      writer.write("  @Override\n");
+      writer.write("  public " + ContainerDescriptor.class.getCanonicalName()
+          + " describe(Class<?> containerClass) {\n");
+      writer.write("    return " + ContainerDescriptor.class.getCanonicalName()
+          + ".builder(containerClass)\n");
+      for (String[] slot : slots) {
+        writer.write("        .element(" + literal(slot[0]) + ", " + literal(slot[1]) + ", "
+            + literal(slot[2]) + ")\n");
+      }
+      writer.write("        .build();\n");
+      writer.write("  }\n}\n");
+    }
+  }
+
+  /**
+   * Replicates the reflective descriptor building, see {@link ContainerDescriptors}
+   *
+   * @return list of [declaring class binary name, field name, element ID] or null if the
+   * container can't be described at build time
+   */
+  private List<String[]> describe(TypeElement container) {
+    List<TypeElement> hierarchy = getHierarchy(container);
+    for (TypeElement type : hierarchy) {
+      if (type != container && !getElementIdsClasses(type).isEmpty()) {
+        return null;
+      }
+    }
+
+    List<VariableElement> controllerFields = new ArrayList<>();
+    hierarchy.forEach(type -> controllerFields.addAll(getAnnotatedFields(type, ELEMENT)));
+    hierarchy.forEach(
+        type -> controllerFields.addAll(getAnnotatedFields(type, CONTEXTUAL_ELEMENT)));
+
+    List<String[]> slots = new ArrayList<>();
+    for (TypeElement elementIdsClass : getElementIdsClasses(container)) {
+      for (VariableElement idField : getPublicFields(elementIdsClass)) {
+        Object elementId = idField.getConstantValue();
+        if (elementId == null) {
+          return null;
+        }
+        String idFieldName = idField.getSimpleName().toString();
+        Iterator<VariableElement> iterator = controllerFields.iterator();
+        while (iterator.hasNext()) {
+          VariableElement controllerField = iterator.next();
+          AnnotationMirror element = findAnnotation(controllerField, ELEMENT);
+          if (element != null && elementId.toString().equals(getStringValue(element, "id"))
+              || controllerField.getSimpleName().toString().equalsIgnoreCase(idFieldName)) {
+            slots.add(toSlot(controllerField, elementId.toString()));
+            iterator.remove();
+            break;
+          }
+        }
+      }
+    }
+
+    controllerFields.forEach(controllerField -> slots.add(toSlot(controllerField, null)));
+    return slots;
+  }
+
+  private String[] toSlot(VariableElement field, String elementId) {
+    TypeElement declaringClass = (TypeElement) field.getEnclosingElement();
+    return new String[]{
+        processingEnv.getElementUtils().getBinaryName(declaringClass).toString(),
+        field.getSimpleName().toString(),
+        elementId
+    };
+  }
+
+  private List<TypeElement> getHierarchy(TypeElement type) {
+    List<TypeElement> hierarchy = new ArrayList<>();
+    TypeElement current = type;
+    while (current != null) {
+      hierarchy.add(current);
+      TypeMirror superclass = current.getSuperclass();
+      current = superclass.getKind() == TypeKind.DECLARED ?
+          (TypeElement) ((DeclaredType) superclass).asElement() : null;
+    }
+    return hierarchy;
+  }
+
+  private List<TypeElement> getElementIdsClasses(TypeElement type) {
+    List<TypeElement> classes = new ArrayList<>();
+    for (TypeElement member : ElementFilter.typesIn(type.getEnclosedElements())) {
+      if (findAnnotation(member, ELEMENT_IDS) != null) {
+        classes.add(member);
+      }
+    }
+    return classes;
+  }
+
+  /**
+   * Collects public fields in the order of {@link Class#getFields()}: fields of a type, fields of
+   * its superinterfaces and then fields of its superclass
+   */
+  private List<VariableElement> getPublicFields(TypeElement type) {
+    List<VariableElement> fields = new ArrayList<>();
+    collectPublicFields(type, fields, new LinkedHashSet<>());
+    return fields;
+  }
+
+  private void collectPublicFields(TypeElement type, List<VariableElement> fields,
+      Set<TypeElement> visited) {
+    if (!visited.add(type)) {
+      return;
+    }
+    for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+      if (field.getModifiers().contains(Modifier.PUBLIC)) {
+        fields.add(field);
+      }
+    }
+    for (TypeMirror superinterface : type.getInterfaces()) {
+      collectPublicFields((TypeElement) ((DeclaredType) superinterface).asElement(), fields,
+          visited);
+    }
+    TypeMirror superclass = type.getSuperclass();
+    if (superclass.getKind() == TypeKind.DECLARED) {
+      collectPublicFields((TypeElement) ((DeclaredType) superclass).asElement(), fields, visited);
+    }
+  }
+
+  private List<VariableElement> getAnnotatedFields(TypeElement type, String annotation) {
+    List<VariableElement> fields = new ArrayList<>();
+    for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+      if (findAnnotation(field, annotation) != null) {
+        fields.add(field);
+      }
+    }
+    return fields;
+  }
+
+  private AnnotationMirror findAnnotation(javax.lang.model.element.Element element,
+      String annotation) {
+    for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+      TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+      if (annotationType.getQualifiedName().contentEquals(annotation)) {
+        return mirror;
+      }
+    }
+    return null;
+  }
+
+  private String getStringValue(AnnotationMirror mirror, String name) {
+    Map<? extends ExecutableElement, ? extends AnnotationValue> values =
+        processingEnv.getElementUtils().getElementValuesWithDefaults(mirror);
+    for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : values
+        .entrySet()) {
+      if (entry.getKey().getSimpleName().contentEquals(name)) {
+        return String.valueOf(entry.getValue().getValue());
+      }
+    }
+    return null;
+  }
+
+  private static String literal(String value) {
+    if (value == null) {
+      return "null";
+    }
+    StringBuilder sb = new StringBuilder("\"");
+    for (char c : value.toCharArray()) {
+      switch (c) {
+        case '"':
+          sb.append("\\\"");
+          break;
+        case '\\':
+          sb.append("\\\\");
+          break;
+        case '\n':
+          sb.append("\\n");
+          break;
+        case '\r':
+          sb.append("\\r");
+          break;
+        case '\t':
+          sb.append("\\t");
+          break;
+        default:
+          if (c < 0x20 || c > 0x7e) {
+            sb.append(String.format("\\u%04x", (int) c));
+          } else {
+            sb.append(c);
+          }
+      }
+    }
+    return sb.append('"').toString();
+  }
+}
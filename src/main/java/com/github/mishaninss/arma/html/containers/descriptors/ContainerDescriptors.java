@@ -0,0 +1,120 @@
+package com.github.mishaninss.arma.html.containers.descriptors;
+
+import com.github.mishaninss.arma.exceptions.ContainerInitException;
+import com.github.mishaninss.arma.html.containers.annotations.ContextualElement;
+import com.github.mishaninss.arma.html.containers.annotations.Element;
+import com.github.mishaninss.arma.html.containers.annotations.ElementIds;
+import com.github.mishaninss.arma.utils.ReflectionUtils;
+import java.lang.reflect.Field;
+import java.util.List;
+import org.apache.commons.lang3.reflect.FieldUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
+import org.springframework.lang.NonNull;
+
+/**
+ * Provides descriptors of container classes. A descriptor generated at build time is used if it
+ * exists, otherwise a descriptor is built using reflection. Descriptors are built once per class
+ * and are stored in the class itself, so they don't prevent a class loader from being unloaded.
+ */
+public final class ContainerDescriptors {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ContainerDescriptors.class);
+  private static final ClassValue<ContainerDescriptor> DESCRIPTORS =
+      new ClassValue<ContainerDescriptor>() {
+        @Override
+        protected ContainerDescriptor computeValue(Class<?> containerClass) {
+          return load(containerClass);
+        }
+      };
+
+  private ContainerDescriptors() {
+  }
+
+  public static @NonNull
+  ContainerDescriptor get(@NonNull Class<?> containerClass) {
+    return DESCRIPTORS.get(containerClass);
+  }
+
+  private static ContainerDescriptor load(Class<?> containerClass) {
+    ContainerDescriptor descriptor = loadGenerated(containerClass);
+    return descriptor != null ? descriptor : reflect(containerClass);
+  }
+
+  private static ContainerDescriptor loadGenerated(Class<?> containerClass) {
+    String providerClassName = containerClass.getName() + ContainerDescriptor.PROVIDER_SUFFIX;
+    Class<?> providerClass;
+    try {
+      providerClass = Class.forName(providerClassName, true, containerClass.getClassLoader());
+    } catch (ClassNotFoundException | LinkageError ex) {
+      return null;
+    }
+    try {
+      var provider = (ContainerDescriptor.Provider) BeanUtils.instantiateClass(providerClass);
+      return provider.describe(containerClass);
+    } catch (Exception ex) {
+      LOGGER.warn("Could not use generated descriptor {}. Falling back to reflection",
+          providerClassName, ex);
+      return null;
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static ContainerDescriptor reflect(Class<?> containerClass) {
+    ContainerDescriptor.Builder builder = ContainerDescriptor.reflectiveBuilder(containerClass);
+
+    List<Class> elementIdsClasses = ReflectionUtils
+        .getInnerClassesWithAnnotation(containerClass, ElementIds.class);
+    List<Field> controllerFields = FieldUtils
+        .getFieldsListWithAnnotation(containerClass, Element.class);
+    controllerFields.addAll(
+        FieldUtils.getFieldsListWithAnnotation(containerClass, ContextualElement.class));
+
+    //Map element controllers with explicitly provided IDs
+    for (Class<?> elementIdsClass : elementIdsClasses) {
+      for (Field idField : elementIdsClass.getFields()) {
+        String idFieldName = idField.getName();
+        String elementId = readElementId(idField);
+        Field controllerField = findMappedField(idFieldName, elementId, controllerFields);
+        if (controllerField != null) {
+          builder.element(controllerField, elementId);
+          controllerFields.remove(controllerField);
+        }
+      }
+    }
+
+    //Map element controllers without explicitly provided IDs
+    controllerFields.forEach(controllerField -> builder.element(controllerField, null));
+
+    return builder.build();
+  }
+
+  private static String readElementId(Field idField) {
+    try {
+      Object elementIdObj = FieldUtils.readStaticField(idField, true);
+      if (elementIdObj != null) {
+        return elementIdObj.toString();
+      }
+      String elementId = idField.getName();
+      FieldUtils.writeStaticField(idField, elementId);
+      return elementId;
+    } catch (IllegalAccessException ex) {
+      throw new ContainerInitException(
+          "Could not read element ID field " + idField.getDeclaringClass().getName() + "."
+              + idField.getName(), ex);
+    }
+  }
+
+  private static Field findMappedField(String idFieldName, String elementId,
+      List<Field> controllerFields) {
+    for (Field controllerField : controllerFields) {
+      if (controllerField.isAnnotationPresent(Element.class) &&
+          controllerField.getAnnotation(Element.class).id().equals(elementId) ||
+          controllerField.getName().equalsIgnoreCase(idFieldName)) {
+        return controllerField;
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,200 @@
+package com.github.mishaninss.arma.html.containers.locators;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * Memory-mapped bundle of precompiled locator files, created by {@link LocatorBundleCompiler}.
+ * A bundle contains locators of several sources. A source is identified by the path of its CSV
+ * file relative to a resources root, e.g. {@code com/example/LoginPage.csv}. Only the index of
+ * sources is read when a bundle is opened; locators of a source are decoded on request.
+ * <p>
+ * Bundle format (big-endian):
+ * <pre>
+ * int magic, int version, int sourcesCount
+ * sourcesCount * (string source, int offset)
+ * at offset: int elementsCount, elementsCount * (string elementId, int locatorsCount,
+ *            locatorsCount * string locator)
+ * </pre>
+ * where string is an int length followed by UTF-8 bytes.
+ */
+public final class LocatorBundle {
+
+  static final int MAGIC = 0x41524C42;
+  static final int VERSION = 1;
+
+  private final Path path;
+  private final ByteBuffer buffer;
+  private final Map<String, Integer> offsets;
+
+  private LocatorBundle(Path path, ByteBuffer buffer, Map<String, Integer> offsets) {
+    this.path = path;
+    this.buffer = buffer;
+    this.offsets = offsets;
+  }
+
+  /**
+   * Maps a bundle file into memory and reads the index of sources
+   *
+   * @param path - path to a bundle file
+   * @return opened bundle
+   * @throws IOException if a file can't be read or is not a locator bundle
+   */
+  public static LocatorBundle open(@NonNull Path path) throws IOException {
+    MappedByteBuffer buffer;
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+    if (buffer.remaining() < 12 || buffer.getInt() != MAGIC) {
+      throw new IOException("File [" + path + "] is not a locator bundle");
+    }
+    int version = buffer.getInt();
+    if (version != VERSION) {
+      throw new IOException(
+          "Unsupported version [" + version + "] of the locator bundle [" + path + "]");
+    }
+    int sourcesCount = buffer.getInt();
+    Map<String, Integer> offsets = new HashMap<>(sourcesCount * 2);
+    for (var i = 0; i < sourcesCount; i++) {
+      String source = readString(buffer);
+      offsets.put(source, buffer.getInt());
+    }
+    return new LocatorBundle(path, buffer, Collections.unmodifiableMap(offsets));
+  }
+
+  public Path getPath() {
+    return path;
+  }
+
+  public Set<String> getSources() {
+    return offsets.keySet();
+  }
+
+  public boolean contains(String source) {
+    return offsets.containsKey(source);
+  }
+
+  /**
+   * Returns locators of a given source
+   *
+   * @param source - path of a source CSV file relative to a resources root
+   * @return map, where a key is an element ID and a value is a list of locators; or null if a
+   * bundle doesn't contain a given source
+   */
+  @Nullable
+  public Map<String, List<String>> getLocators(String source) {
+    Integer offset = offsets.get(source);
+    if (offset == null) {
+      return null;
+    }
+    ByteBuffer data = buffer.duplicate();
+    data.position(offset);
+    int elementsCount = data.getInt();
+    Map<String, List<String>> locators = new LinkedHashMap<>(elementsCount * 2);
+    for (var i = 0; i < elementsCount; i++) {
+      String elementId = readString(data);
+      int locatorsCount = data.getInt();
+      List<String> elementLocators = new ArrayList<>(locatorsCount);
+      for (var j = 0; j < locatorsCount; j++) {
+        elementLocators.add(readString(data));
+      }
+      locators.put(elementId, elementLocators);
+    }
+    return locators;
+  }
+
+  /**
+   * Returns locators of an element of a given source
+   *
+   * @param source    - path of a source CSV file relative to a resources root
+   * @param elementId - ID of an element
+   * @return list of locators or null if there are no locators for a given element
+   */
+  @Nullable
+  public List<String> getLocators(String source, String elementId) {
+    Map<String, List<String>> locators = getLocators(source);
+    return locators != null ? locators.get(elementId) : null;
+  }
+
+  /**
+   * Writes a bundle of given sources
+   *
+   * @param sources - map, where a key is a source path and a value is a map of element locators
+   * @param out     - output stream
+   */
+  static void write(Map<String, Map<String, List<String>>> sources, OutputStream out)
+      throws IOException {
+    List<byte[]> blocks = new ArrayList<>(sources.size());
+    var indexSize = 12;
+    for (Map.Entry<String, Map<String, List<String>>> source : sources.entrySet()) {
+      indexSize += 8 + utf8(source.getKey()).length;
+      blocks.add(encode(source.getValue()));
+    }
+
+    var output = new DataOutputStream(out);
+    output.writeInt(MAGIC);
+    output.writeInt(VERSION);
+    output.writeInt(sources.size());
+    int offset = indexSize;
+    var i = 0;
+    for (String source : sources.keySet()) {
+      writeString(output, source);
+      output.writeInt(offset);
+      offset += blocks.get(i++).length;
+    }
+    for (byte[] block : blocks) {
+      output.write(block);
+    }
+    output.flush();
+  }
+
+  private static byte[] encode(Map<String, List<String>> locators) throws IOException {
+    var bytes = new ByteArrayOutputStream();
+    var output = new DataOutputStream(bytes);
+    output.writeInt(locators.size());
+    for (Map.Entry<String, List<String>> element : locators.entrySet()) {
+      writeString(output, element.getKey());
+      List<String> elementLocators = element.getValue() != null ?
+          element.getValue() : Collections.emptyList();
+      output.writeInt(elementLocators.size());
+      for (String locator : elementLocators) {
+        writeString(output, locator);
+      }
+    }
+    output.flush();
+    return bytes.toByteArray();
+  }
+
+  private static void writeString(DataOutputStream output, String value) throws IOException {
+    byte[] bytes = utf8(value);
+    output.writeInt(bytes.length);
+    output.write(bytes);
+  }
+
+  private static byte[] utf8(String value) {
+    return (value != null ? value : "").getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static String readString(ByteBuffer buffer) {
+    var bytes = new byte[buffer.getInt()];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
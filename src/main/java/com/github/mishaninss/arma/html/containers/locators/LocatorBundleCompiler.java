@@ -0,0 +1,79 @@
+package com.github.mishaninss.arma.html.containers.locators;
+
+import com.github.mishaninss.arma.data.CsvDataExtractor;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Compiles all locator CSV files found under given resources roots into a single
+ * {@link LocatorBundle}. Sources are identified by paths relative to a resources root, so the
+ * compiler is supposed to be run over the same directories, which are packaged as classpath
+ * resources. Can be invoked at build time, e.g. with exec-maven-plugin:
+ * <pre>
+ * java LocatorBundleCompiler target/classes/locators.bundle src/main/resources src/test/resources
+ * </pre>
+ * Files are parsed with {@link CsvDataExtractor}, the same way they are parsed at runtime.
+ */
+public final class LocatorBundleCompiler {
+
+  private static final String CSV_EXTENSION = ".csv";
+
+  private LocatorBundleCompiler() {
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length < 2) {
+      System.err.println(
+          "Usage: LocatorBundleCompiler <output bundle> <resources root> [<resources root>...]");
+      System.exit(1);
+    }
+    Path output = Paths.get(args[0]);
+    Path[] roots = Stream.of(args).skip(1).map(Paths::get).toArray(Path[]::new);
+    int count = compile(output, roots);
+    System.out.println("Compiled " + count + " locator files into " + output.toAbsolutePath());
+  }
+
+  /**
+   * Compiles locator files found under given roots into a bundle
+   *
+   * @param output - path of a bundle file to write
+   * @param roots  - resources roots
+   * @return number of compiled locator files
+   */
+  public static int compile(Path output, Path... roots) throws IOException {
+    Map<String, Map<String, List<String>>> sources = new TreeMap<>();
+    for (Path root : roots) {
+      if (!Files.isDirectory(root)) {
+        continue;
+      }
+      List<Path> files;
+      try (Stream<Path> paths = Files.walk(root)) {
+        files = paths
+            .filter(Files::isRegularFile)
+            .filter(path -> path.getFileName().toString().endsWith(CSV_EXTENSION))
+            .collect(Collectors.toList());
+      }
+      for (Path file : files) {
+        String source = root.relativize(file).toString().replace('\\', '/');
+        sources.put(source, CsvDataExtractor.extractData(file.toUri().toURL()));
+      }
+    }
+
+    Path parent = output.toAbsolutePath().getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+    try (OutputStream out = Files.newOutputStream(output)) {
+      LocatorBundle.write(sources, out);
+    }
+    return sources.size();
+  }
+}
@@ -0,0 +1,114 @@
+package com.github.mishaninss.arma.html.containers.locators;
+
+import com.github.mishaninss.arma.exceptions.ContainerInitException;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * JVM-wide repository of parsed locator files. Every source is parsed once and stored as an
+ * immutable map with interned element IDs and locators. If a {@link LocatorBundle} is provided,
+ * sources contained in the bundle are read from it instead of parsing CSV files.
+ */
+public final class LocatorsRepository {
+
+  private static final Map<String, Map<String, List<String>>> LOCATORS = new ConcurrentHashMap<>();
+  private static final Map<String, LocatorBundle> BUNDLES = new ConcurrentHashMap<>();
+
+  private LocatorsRepository() {
+  }
+
+  /**
+   * Loads locators of a source
+   */
+  @FunctionalInterface
+  public interface Loader {
+
+    @Nullable
+    Map<String, List<String>> load() throws IOException;
+  }
+
+  /**
+   * Returns locators of a given source
+   *
+   * @param source     - path of a locators file, which identifies a source. Leading slash is
+   *                   ignored when a source is looked up in a bundle
+   * @param bundlePath - path to a locator bundle or null
+   * @param loader     - loader of a source, which is used if a source is not cached and a bundle
+   *                   doesn't contain it
+   * @return immutable map, where a key is an element ID and a value is a list of locators
+   */
+  public static @NonNull
+  Map<String, List<String>> getLocators(@NonNull String source, @Nullable String bundlePath,
+      @NonNull Loader loader) throws IOException {
+    Map<String, List<String>> locators = LOCATORS.get(source);
+    if (locators != null) {
+      return locators;
+    }
+
+    Map<String, List<String>> loaded = null;
+    if (StringUtils.isNotBlank(bundlePath)) {
+      loaded = getBundle(bundlePath).getLocators(toBundleSource(source));
+    }
+    if (loaded == null) {
+      loaded = loader.load();
+    }
+    locators = freeze(loaded);
+    Map<String, List<String>> existing = LOCATORS.putIfAbsent(source, locators);
+    return existing != null ? existing : locators;
+  }
+
+  /**
+   * Returns an opened locator bundle. A bundle is mapped into memory once per JVM
+   *
+   * @param bundlePath - path to a locator bundle
+   */
+  public static @NonNull
+  LocatorBundle getBundle(@NonNull String bundlePath) {
+    return BUNDLES.computeIfAbsent(bundlePath, path -> {
+      try {
+        return LocatorBundle.open(Paths.get(path));
+      } catch (IOException ex) {
+        throw new ContainerInitException("Could not open locator bundle [" + path + "]", ex);
+      }
+    });
+  }
+
+  public static int size() {
+    return LOCATORS.size();
+  }
+
+  /**
+   * Drops all parsed locators. Opened bundles stay mapped
+   */
+  public static void clear() {
+    LOCATORS.clear();
+  }
+
+  private static String toBundleSource(String source) {
+    return StringUtils.removeStart(source.trim().replace('\\', '/'), "/");
+  }
+
+  private static Map<String, List<String>> freeze(@Nullable Map<String, List<String>> locators) {
+    if (locators == null || locators.isEmpty()) {
+      return Collections.emptyMap();
+    }
+    Map<String, List<String>> frozen = new LinkedHashMap<>(locators.size() * 2);
+    locators.forEach((elementId, elementLocators) -> {
+      List<String> values = new ArrayList<>();
+      if (elementLocators != null) {
+        elementLocators.forEach(locator -> values.add(locator != null ? locator.intern() : null));
+      }
+      frozen.put(elementId.intern(), Collections.unmodifiableList(values));
+    });
+    return Collections.unmodifiableMap(frozen);
+  }
+}
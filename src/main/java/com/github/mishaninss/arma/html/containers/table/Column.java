@@ -10,6 +10,7 @@ import com.github.mishaninss.arma.html.elements.interfaces.IReadable;
 import com.github.mishaninss.arma.html.interfaces.IInteractiveElement;
 import com.github.mishaninss.arma.html.interfaces.INamed;
 import com.github.mishaninss.arma.html.readers.AbstractReader;
+import com.github.mishaninss.arma.uidriver.Locator;
 import com.github.mishaninss.arma.uidriver.annotations.ElementsDriver;
 import com.github.mishaninss.arma.uidriver.interfaces.IElementsDriver;
 import com.github.mishaninss.arma.uidriver.interfaces.ILocatable;
@@ -33,6 +34,7 @@ public class Column<T extends IInteractiveElement> implements InitializingBean {
 
     private final T cell;
     private final String cellLocatorTemplate;
+    private final Locator cellLocator;
 
     private String name;
     private ILocatable elementForCounting;
@@ -42,6 +44,7 @@ public class Column<T extends IInteractiveElement> implements InitializingBean {
 
     public Column(T cell) {
         cellLocatorTemplate = cell.getLocator();
+        cellLocator = Locator.parse(cellLocatorTemplate);
         this.cell = cell;
     }
 
@@ -62,10 +65,10 @@ public class Column<T extends IInteractiveElement> implements InitializingBean {
      * @return cell controller
      */
     public T getCell(int rowIndex) {
-        String locator = getArgsCountInLocatorTemplate(cellLocatorTemplate) > 1 ?
-                String.format(cellLocatorTemplate, startRowIndex + rowIndex, colIndex) :
-                String.format(cellLocatorTemplate, startRowIndex + rowIndex);
-        cell.setLocator(locator);
+        Locator locator = cellLocator.getSlots() > 1 ?
+                cellLocator.format(startRowIndex + rowIndex, colIndex) :
+                cellLocator.format(startRowIndex + rowIndex);
+        cell.setLocator(locator.toString());
         if (StringUtils.isNoneBlank(name) && cell instanceof INamed) {
             INamed.setNameIfApplicable(cell, name + " [" + rowIndex + "]");
         }
@@ -325,11 +328,4 @@ public class Column<T extends IInteractiveElement> implements InitializingBean {
         }
         elementForCounting.setLocator(locatorForCounting);
     }
-
-    private static int getArgsCountInLocatorTemplate(String locator) {
-        if (!locator.contains("%")) {
-            return 0;
-        }
-        return StringUtils.countMatches(locator, "%");
-    }
 }
\ No newline at end of file
@@ -60,7 +60,7 @@ public class DynamicTable extends Table {
         }
       }
       arma.element().scrollIntoView(keyColumn.getCell(nextCount), true);
-      arma.waiting().waitForPageUpdate();
+      arma.pageStability().waitForPageUpdate();
     } while (keys.addAll(nextKeys));
     return values;
   }
@@ -105,7 +105,7 @@ public class DynamicTable extends Table {
         }
       }
       arma.element().scrollIntoView(column.getCell(nextCount), true);
-      arma.waiting().waitForPageUpdate();
+      arma.pageStability().waitForPageUpdate();
     } while (keys.addAll(nextKeys));
     return null;
   }
@@ -132,7 +132,7 @@ public class DynamicTable extends Table {
         }
       }
       arma.element().scrollIntoView(keyColumn.getCell(nextCount), true);
-      arma.waiting().waitForPageUpdate();
+      arma.pageStability().waitForPageUpdate();
     } while (added && keys.size() < limit);
     return values;
   }
@@ -159,7 +159,7 @@ public class DynamicTable extends Table {
         }
       }
       arma.element().scrollIntoView(keyColumn.getCell(nextCount), true);
-      arma.waiting().waitForPageUpdate();
+      arma.pageStability().waitForPageUpdate();
     } while (added && keys.size() < limit);
     return values;
   }
@@ -193,7 +193,7 @@ public class DynamicTable extends Table {
         }
       }
       arma.element().scrollIntoView(keyColumn.getCell(nextCount), true);
-      arma.waiting().waitForPageUpdate();
+      arma.pageStability().waitForPageUpdate();
     } while (keys.addAll(nextKeys));
     return 0;
   }
@@ -213,7 +213,7 @@ public class DynamicTable extends Table {
         nextNames.add(((ArmaElement) keyColumn.getCell(i)).raw(IInteractiveElement::readValue));
       }
       arma.element().scrollIntoView(keyColumn.getCell(nextCount), true);
-      arma.waiting().waitForPageUpdate();
+      arma.pageStability().waitForPageUpdate();
     } while (names.addAll(nextNames));
     return names.size();
   }
@@ -227,7 +227,7 @@ public class DynamicTable extends Table {
     do {
       prevKey = nextKey;
       arma.element().scrollIntoView(keyColumn.getCell(1), false);
-      arma.waiting().waitForPageUpdate();
+      arma.pageStability().waitForPageUpdate();
       nextKey = keyColumn.readValue(1);
     } while (!StringUtils.equals(prevKey, nextKey));
   }
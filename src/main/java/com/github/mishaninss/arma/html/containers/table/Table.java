@@ -47,6 +47,7 @@ public class Table implements ILocatable, INamed, InitializingBean {
   private ILocatable context;
   private boolean contextLookup = true;
   private String name;
+  private transient int modificationCount;
 
   @Autowired
   protected Arma arma;
@@ -492,6 +493,7 @@ public class Table implements ILocatable, INamed, InitializingBean {
   @Override
   public void setLocator(String locator) {
     this.locator = locator;
+    modificationCount++;
   }
 
   @Override
@@ -502,11 +504,13 @@ public class Table implements ILocatable, INamed, InitializingBean {
   @Override
   public void setContext(ILocatable context) {
     this.context = context;
+    modificationCount++;
   }
 
   @Override
   public void setContextLookup(boolean contextLookup) {
     this.contextLookup = contextLookup;
+    modificationCount++;
   }
 
   @Override
@@ -514,6 +518,11 @@ public class Table implements ILocatable, INamed, InitializingBean {
     return contextLookup;
   }
 
+  @Override
+  public int getModificationCount() {
+    return modificationCount;
+  }
+
   @Override
   public INamed setName(String name) {
     this.name = name;
@@ -9,7 +9,9 @@ import com.github.mishaninss.arma.html.interfaces.INamed;
 import com.github.mishaninss.arma.html.listeners.ElementEvent;
 import com.github.mishaninss.arma.html.listeners.FiresEvent;
 import com.github.mishaninss.arma.html.listeners.IElementEventHandler;
+import com.github.mishaninss.arma.html.listeners.ListenerChain;
 import com.github.mishaninss.arma.uidriver.Arma;
+import com.github.mishaninss.arma.uidriver.LocatorPath;
 import com.github.mishaninss.arma.uidriver.interfaces.IElementActionsChain;
 import com.github.mishaninss.arma.uidriver.interfaces.IElementGetActionDriver;
 import com.github.mishaninss.arma.uidriver.interfaces.IElementReadActionDriver;
@@ -17,12 +19,13 @@ import com.github.mishaninss.arma.uidriver.interfaces.IElementWaitingDriver;
 import com.github.mishaninss.arma.uidriver.interfaces.ILocatable;
 import com.github.mishaninss.arma.uidriver.interfaces.IThisElementDriver;
 import com.google.common.base.Preconditions;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.EnumMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.springframework.beans.factory.InitializingBean;
@@ -49,9 +52,12 @@ public class ArmaElement implements IInteractiveElement, IListenableElement, INa
   private boolean optional = false;
   private boolean contextLookup = true;
   private ILocatable context;
+  private Supplier<? extends ILocatable> contextSupplier;
+  private transient LocatorPath locatorPath;
+  private transient int modificationCount;
   private IInteractiveContainer nextPage;
-  private Map<ElementEvent, LinkedHashSet<IElementEventHandler>> eventListeners = new EnumMap<>(
-      ElementEvent.class);
+  private Class<? extends IInteractiveContainer> nextPageClass;
+  private ListenerChain listeners = ListenerChain.EMPTY;
   private boolean supressAfterEvents;
 
 // Constructors ********************************************************************************************************
@@ -86,9 +92,20 @@ public class ArmaElement implements IInteractiveElement, IListenableElement, INa
     this.locator = element.getLocator();
     this.optional = element.isOptional();
     this.contextLookup = element.useContextLookup();
-    this.context = element.getContext();
-    this.nextPage = element.nextPage();
-    if (element instanceof IListenableElement) {
+    if (element instanceof ArmaElement) {
+      ArmaElement armaElement = (ArmaElement) element;
+      this.arma = armaElement.arma;
+      this.context = armaElement.context;
+      this.contextSupplier = armaElement.contextSupplier;
+      this.nextPage = armaElement.nextPage;
+      this.nextPageClass = armaElement.nextPageClass;
+    } else {
+      this.context = element.getContext();
+      this.nextPage = element.nextPage();
+    }
+    if (element instanceof ArmaElement) {
+      this.listeners = ((ArmaElement) element).listeners;
+    } else if (element instanceof IListenableElement) {
       setEventListeners(((IListenableElement) element).getEventListeners());
     }
     if (element instanceof INamed) {
@@ -160,21 +177,54 @@ public class ArmaElement implements IInteractiveElement, IListenableElement, INa
   public void setLocator(String locator) {
     Preconditions.checkArgument(StringUtils.isNoneBlank(locator), EXCEPTION_ILLEGAL_LOCATOR);
     this.locator = locator;
+    modificationCount++;
   }
 
   @Override
   public ILocatable getContext() {
+    if (context == null && contextSupplier != null) {
+      context = contextSupplier.get();
+      contextSupplier = null;
+    }
     return context;
   }
 
   @Override
   public void setContext(ILocatable context) {
     this.context = context;
+    this.contextSupplier = null;
+    modificationCount++;
+  }
+
+  /**
+   * Sets a supplier of the element's context. The context is resolved on the first call of
+   * {@link #getContext()}
+   */
+  public void setContextSupplier(Supplier<? extends ILocatable> contextSupplier) {
+    this.context = null;
+    this.contextSupplier = contextSupplier;
+    modificationCount++;
   }
 
   @Override
   public void setContextLookup(boolean contextLookup) {
     this.contextLookup = contextLookup;
+    modificationCount++;
+  }
+
+  @Override
+  public int getModificationCount() {
+    return modificationCount;
+  }
+
+  @Override
+  public LocatorPath getLocatorPath() {
+    LocatorPath path = locatorPath;
+    if (path == null || !path.isValid()) {
+      path = LocatorPath.of(this);
+      locatorPath = path;
+    }
+    return path;
   }
 
   @Override
@@ -184,43 +234,109 @@ public class ArmaElement implements IInteractiveElement, IListenableElement, INa
 
   @Override
   public IInteractiveContainer nextPage() {
-    if (nextPage == null && context != null && IInteractiveContainer.class
-        .isAssignableFrom(context.getClass())) {
-      nextPage = (IInteractiveContainer) context;
+    if (nextPage == null && nextPageClass != null) {
+      nextPage = arma.containersFactory().initContainer(nextPageClass);
+      nextPageClass = null;
+    }
+    if (nextPage == null) {
+      ILocatable currentContext = getContext();
+      if (currentContext instanceof IInteractiveContainer) {
+        nextPage = (IInteractiveContainer) currentContext;
+      }
     }
     return nextPage;
   }
 
+  /**
+   * Sets a class of the next page. An instance of the next page is resolved on the first call of
+   * {@link #nextPage()}, so initializing of an element doesn't initialize containers it leads to
+   */
   @Override
   public void setNextPage(Class<? extends IInteractiveContainer> nextPage) {
-    this.nextPage = arma.containersFactory().initContainer(nextPage);
+    this.nextPage = null;
+    this.nextPageClass = nextPage;
   }
 
   @Override
   public void setNextPage(IInteractiveContainer nextPage) {
     this.nextPage = nextPage;
+    this.nextPageClass = null;
   }
 
 // IListenableElement **************************************************************************************************
 
   @Override
   public IListenableElement addEventListener(ElementEvent event, IElementEventHandler listener) {
-    LinkedHashSet<IElementEventHandler> typeListeners = eventListeners
-        .computeIfAbsent(event, k -> new LinkedHashSet<>());
-    typeListeners.add(listener);
+    listeners = listeners.with(event, listener);
+    return this;
+  }
+
+  @Override
+  public IListenableElement addEventListener(IElementEventHandler listener) {
+    listeners = listeners.with(Collections.singletonList(listener));
+    return this;
+  }
+
+  @Override
+  public IListenableElement addEventListeners(IElementEventHandler... listeners) {
+    this.listeners = this.listeners.with(Arrays.asList(listeners));
+    return this;
+  }
+
+  @Override
+  public IListenableElement addEventListeners(Iterable<IElementEventHandler> listeners) {
+    this.listeners = this.listeners.with(listeners);
     return this;
   }
 
   @Override
   public IListenableElement setEventListeners(
       Map<ElementEvent, LinkedHashSet<IElementEventHandler>> listeners) {
-    eventListeners = new EnumMap<>(listeners);
+    this.listeners = ListenerChain.of(listeners);
     return this;
   }
 
+  @Override
+  public IListenableElement removeEventListener(ElementEvent event, IElementEventHandler listener) {
+    this.listeners = this.listeners.without(event, listener);
+    return this;
+  }
+
+  /**
+   * Returns an unmodifiable map of listeners of this element, use
+   * {@link #addEventListener(ElementEvent, IElementEventHandler)},
+   * {@link #removeEventListener(ElementEvent, IElementEventHandler)} or
+   * {@link #setEventListeners(Map)} to change listeners
+   */
   @Override
   public Map<ElementEvent, LinkedHashSet<IElementEventHandler>> getEventListeners() {
-    return eventListeners;
+    return listeners.toMap();
+  }
+
+  /**
+   * Returns an unmodifiable set of listeners of a given event or null if there are no listeners
+   */
+  @Override
+  public LinkedHashSet<IElementEventHandler> getEventListeners(ElementEvent event) {
+    return listeners.toSet(event);
+  }
+
+  @Override
+  public IElementEventHandler[] getEventListenersArray(ElementEvent event) {
+    return listeners.get(event);
+  }
+
+  @Override
+  public IElementEventHandler[] getReversedEventListenersArray(ElementEvent event) {
+    return listeners.getReversed(event);
+  }
+
+  public ListenerChain getListenerChain() {
+    return listeners;
+  }
+
+  public void setListenerChain(ListenerChain listeners) {
+    this.listeners = Preconditions.checkNotNull(listeners, "listeners value cannot be null");
   }
 
 // INamed **************************************************************************************************************
@@ -268,12 +384,12 @@ public class ArmaElement implements IInteractiveElement, IListenableElement, INa
   }
 
   public <R> R raw(Function<IInteractiveElement, R> function) {
-    Map<ElementEvent, LinkedHashSet<IElementEventHandler>> eventHandlers = getEventListeners();
+    ListenerChain eventHandlers = listeners;
     try {
-      eventListeners = Collections.emptyMap();
+      listeners = ListenerChain.EMPTY;
       return perform(function);
     } finally {
-      setEventListeners(eventHandlers);
+      listeners = eventHandlers;
     }
   }
 
@@ -329,12 +445,12 @@ public class ArmaElement implements IInteractiveElement, IListenableElement, INa
     return optional == that.optional &&
         contextLookup == that.contextLookup &&
         Objects.equals(name, that.name) &&
-        Objects.equals(getLocatorDeque(), that.getLocatorDeque());
+        Objects.equals(getLocatorPath(), that.getLocatorPath());
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(name, getLocatorDeque(), optional, contextLookup);
+    return Objects.hash(name, getLocatorPath(), optional, contextLookup);
   }
 
   public Function<IInteractiveElement, String> getReader() {
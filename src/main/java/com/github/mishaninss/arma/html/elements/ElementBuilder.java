@@ -80,11 +80,11 @@ public class ElementBuilder implements InitializingBean {
     }
 
     public ArmaElement xpath(String xpath, Object... args) {
-        return xpath(String.format(xpath, args));
+        return xpath(ArmaElement.class, xpath, args);
     }
 
     public <T extends IInteractiveElement> T xpath(Class<T> elementType, String xpath, Object... args) {
-        return xpath(String.format(xpath, args), elementType);
+        return buildElement(LocatorType.buildXpath(xpath, args), elementType);
     }
 
     public <T extends IInteractiveElement> T xpath(String xpath, Class<T> elementType) {
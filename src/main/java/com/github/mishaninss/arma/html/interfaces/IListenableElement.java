@@ -18,7 +18,9 @@ package com.github.mishaninss.arma.html.interfaces;
 
 import com.github.mishaninss.arma.html.listeners.ElementEvent;
 import com.github.mishaninss.arma.html.listeners.IElementEventHandler;
+import org.apache.commons.lang3.ArrayUtils;
 
+import java.util.EnumMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
 
@@ -74,6 +76,26 @@ public interface IListenableElement {
         return this;
     }
 
+    /**
+     * Removes a given listener of a given event. Use this method instead of changing sets returned
+     * by {@link #getEventListeners()}, which may be unmodifiable
+     */
+    default IListenableElement removeEventListener(ElementEvent event, IElementEventHandler listener) {
+        Map<ElementEvent, LinkedHashSet<IElementEventHandler>> listeners = new EnumMap<>(ElementEvent.class);
+        getEventListeners().forEach((key, value) -> listeners.put(key, new LinkedHashSet<>(value)));
+        LinkedHashSet<IElementEventHandler> eventListeners = listeners.get(event);
+        if (eventListeners != null && eventListeners.remove(listener)) {
+            setEventListeners(listeners);
+        }
+        return this;
+    }
+
+    /**
+     * Returns listeners of this element. Implementations may return an unmodifiable map, use
+     * {@link #addEventListener(ElementEvent, IElementEventHandler)},
+     * {@link #removeEventListener(ElementEvent, IElementEventHandler)} or
+     * {@link #setEventListeners(Map)} to change listeners
+     */
     Map<ElementEvent, LinkedHashSet<IElementEventHandler>> getEventListeners();
 
     IListenableElement setEventListeners(Map<ElementEvent, LinkedHashSet<IElementEventHandler>> listeners);
@@ -82,6 +104,26 @@ public interface IListenableElement {
         return getEventListeners().get(event);
     }
 
+    /**
+     * Returns listeners of a given event in the order they are notified before the event.
+     * Implementations may return a cached array, so it must not be modified
+     */
+    default IElementEventHandler[] getEventListenersArray(ElementEvent event) {
+        LinkedHashSet<IElementEventHandler> listeners = getEventListeners(event);
+        return listeners != null ? listeners.toArray(new IElementEventHandler[0]) : new IElementEventHandler[0];
+    }
+
+    /**
+     * Returns listeners of a given event in the order they are notified after the event, which is
+     * reverse to the order of {@link #getEventListenersArray(ElementEvent)}.
+     * Implementations may return a cached array, so it must not be modified
+     */
+    default IElementEventHandler[] getReversedEventListenersArray(ElementEvent event) {
+        IElementEventHandler[] listeners = getEventListenersArray(event).clone();
+        ArrayUtils.reverse(listeners);
+        return listeners;
+    }
+
     boolean areAfterEventsSupressed();
 
     void supressAfterEvents();
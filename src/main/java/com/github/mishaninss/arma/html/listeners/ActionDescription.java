@@ -0,0 +1,56 @@
+package com.github.mishaninss.arma.html.listeners;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.apache.commons.text.StringSubstitutor;
+
+/**
+ * Description of an action, which fires an element event. A description built from a message
+ * template is formatted on the first call of {@link #get()}, so handlers which don't use the
+ * description don't pay for formatting. Placeholders of a template are ${1}, ${2}, etc., which
+ * are replaced by arguments of an action.
+ */
+public final class ActionDescription implements Supplier<String> {
+
+  private final String template;
+  private final Object[] args;
+  private String value;
+
+  private ActionDescription(String template, Object[] args, String value) {
+    this.template = template;
+    this.args = args;
+    this.value = value;
+  }
+
+  /**
+   * Returns a description with a given text
+   */
+  public static ActionDescription of(String value) {
+    return new ActionDescription(null, null, value);
+  }
+
+  /**
+   * Returns a description, which is formatted from a given template and arguments on first use
+   */
+  public static ActionDescription of(String template, Object[] args) {
+    return new ActionDescription(template, args, null);
+  }
+
+  @Override
+  public String get() {
+    if (value == null && template != null) {
+      Map<String, String> values = new HashMap<>(args.length * 2);
+      for (var i = 0; i < args.length; i++) {
+        values.put(String.valueOf(i + 1), String.valueOf(args[i]));
+      }
+      value = new StringSubstitutor(values).replace(template);
+    }
+    return value;
+  }
+
+  @Override
+  public String toString() {
+    return get();
+  }
+}
@@ -31,20 +31,42 @@ public abstract class BaseLoggingEventHandler implements IElementEventHandler {
 
     protected abstract void logMessage(String message);
 
+    /**
+     * Logs a message of an event, which is built from a given format and arguments
+     */
+    protected void logEvent(String format, Object... args) {
+        logMessage(getLogMessage(format, args));
+    }
+
+    /**
+     * Indicates if messages should be logged. If not, no message is built for an event
+     */
+    protected boolean isLogEnabled() {
+        return true;
+    }
+
     @Override
     public void beforeEvent(IInteractiveElement element, ElementEvent event, String comment, Object... args) {
-        String message;
+        beforeEvent(element, event, ActionDescription.of(comment), args);
+    }
+
+    @Override
+    public void beforeEvent(IInteractiveElement element, ElementEvent event, ActionDescription action, Object... args) {
+        if (!isLogEnabled()) {
+            return;
+        }
         String actionName;
+        String comment;
         switch (event){
             case CHANGE_VALUE:
+                comment = action.get();
                 actionName = StringUtils.isNoneBlank(comment) ? comment: "изменить значение";
-                message = getLogMessage(MESSAGE_SET_VALUE, element, actionName, args);
-                logMessage(message);
+                logEvent(MESSAGE_SET_VALUE, element, actionName, args);
                 break;
             case ACTION:
+                comment = action.get();
                 actionName = StringUtils.isNoneBlank(comment) ? StringUtils.stripStart(comment, "perform").trim(): "действие";
-                message = getLogMessage(MESSAGE_PERFORM_ACTION, element, actionName);
-                logMessage(message);
+                logEvent(MESSAGE_PERFORM_ACTION, element, actionName);
                 break;
             default:
         }
@@ -52,30 +74,50 @@ public abstract class BaseLoggingEventHandler implements IElementEventHandler {
 
     @Override
     public void afterEvent(IInteractiveElement element, ElementEvent event, String comment, Object... args) {
-        String message;
+        afterEvent(element, event, ActionDescription.of(comment), args);
+    }
+
+    @Override
+    public void afterEvent(IInteractiveElement element, ElementEvent event, ActionDescription action, Object... args) {
+        if (!isLogEnabled()) {
+            return;
+        }
         switch (event){
             case READ_VALUE:
+                String comment = action.get();
                 String actionName = StringUtils.isNoneBlank(comment) ? StringUtils.removeStart(comment, "read").trim(): "значение";
-                message = getLogMessage(MESSAGE_GET_VALUE, element, actionName, args);
-                logMessage(message);
+                logEvent(MESSAGE_GET_VALUE, element, actionName, args);
                 break;
             case IS_DISPLAYED:
-                message = getLogMessage(MESSAGE_IS_DISPLAYED, element, args);
-                logMessage(message);
+                logEvent(MESSAGE_IS_DISPLAYED, element, args);
                 break;
             default:
         }
     }
 
-    private String getLogMessage(String format, Object... args){
+    protected String getLogMessage(String format, Object... args){
+        return String.format(format, snapshotArgs(args));
+    }
+
+    /**
+     * Replaces arguments of a message with their text as it is at the moment of an event: elements with
+     * their loggable names, arrays and other values with their string representations. Elements and
+     * values can be changed after an event, e.g. a reused cell of a table, so a deferred message must be
+     * built from a snapshot
+     *
+     * @return given array with replaced values
+     */
+    protected Object[] snapshotArgs(Object... args){
         for (int i=0; i<args.length; i++){
             Object arg = args[i];
             if (arg instanceof ILocatable){
                 args[i] = INamed.getLoggableNameIfApplicable(arg);
-            } else if (arg.getClass().isArray()){
+            } else if (arg instanceof Object[]){
                 args[i] = Arrays.deepToString((Object[])arg);
+            } else if (arg != null && !(arg instanceof String)){
+                args[i] = String.valueOf(arg);
             }
         }
-        return String.format(format, args);
+        return args;
     }
 }
\ No newline at end of file
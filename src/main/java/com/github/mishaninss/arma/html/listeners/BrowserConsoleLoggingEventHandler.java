@@ -16,17 +16,125 @@
 
 package com.github.mishaninss.arma.html.listeners;
 
+import com.github.mishaninss.arma.data.UiCommonsProperties;
+import com.github.mishaninss.arma.exceptions.SessionLostException;
+import com.github.mishaninss.arma.html.interfaces.IInteractiveElement;
 import com.github.mishaninss.arma.uidriver.annotations.PageDriver;
 import com.github.mishaninss.arma.uidriver.interfaces.IPageDriver;
+import org.apache.commons.text.StringEscapeUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes event messages into a browser console. Messages are buffered and sent in one script, when
+ * the buffer is full or the flush interval has elapsed since the first buffered message. The interval
+ * is checked after every element event, also if the event doesn't log a message, and buffered messages
+ * are prepended to the next script of {@link com.github.mishaninss.arma.uidriver.PageStabilityTracker},
+ * if page stability tracking is enabled. Messages, which were not sent before a page or a window
+ * changes, are dropped by {@link com.github.mishaninss.arma.aspects.PageDriverAspects}, so they are
+ * never written into a console of another document. If messages can't be sent, they are dropped
+ * instead of being retried. Remaining messages are sent before failure artifacts are captured and when
+ * the context is closed. Nothing is logged if browser console logs are disabled, also if the handler
+ * is listed in {@link UiCommonsProperties.Framework#DEFAULT_EVENT_HANDLERS}
+ */
 @Component
-public class BrowserConsoleLoggingEventHandler extends BaseLoggingEventHandler {
+public class BrowserConsoleLoggingEventHandler extends BaseLoggingEventHandler implements DisposableBean {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BrowserConsoleLoggingEventHandler.class);
+    private static final int BATCH_SIZE = 20;
+    private static final long FLUSH_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
     @PageDriver
     private IPageDriver pageDriver;
+    @Autowired
+    private UiCommonsProperties properties;
+
+    private final Deque<String> buffer = new ArrayDeque<>(BATCH_SIZE);
+    private long firstMessageTime;
+
+    @Override
+    protected boolean isLogEnabled() {
+        return properties.driver().areConsoleLogsEnabled();
+    }
+
+    @Override
+    protected synchronized void logMessage(String message){
+        if (buffer.isEmpty()) {
+            firstMessageTime = System.nanoTime();
+        }
+        buffer.addLast(message);
+        if (buffer.size() >= BATCH_SIZE) {
+            flush();
+        } else {
+            flushIfDue();
+        }
+    }
+
+    @Override
+    public void afterEvent(IInteractiveElement element, ElementEvent event, ActionDescription action, Object... args) {
+        super.afterEvent(element, event, action, args);
+        flushIfDue();
+    }
+
+    private synchronized void flushIfDue() {
+        if (!buffer.isEmpty() && System.nanoTime() - firstMessageTime >= FLUSH_INTERVAL) {
+            flush();
+        }
+    }
+
+    /**
+     * Returns a script, which writes all buffered messages into a browser console, and empties the
+     * buffer. Returns an empty string if there are no buffered messages. The script is meant to be
+     * prepended to a script, which is sent to a browser anyway
+     */
+    public synchronized String drainScript() {
+        if (buffer.isEmpty()) {
+            return "";
+        }
+        StringBuilder script = new StringBuilder();
+        for (String message : buffer) {
+            script.append("console.log('").append(StringEscapeUtils.escapeEcmaScript(message)).append("');");
+        }
+        buffer.clear();
+        return script.toString();
+    }
+
+    /**
+     * Drops all buffered messages, e.g. when a page or a window is changed
+     */
+    public synchronized void discard() {
+        buffer.clear();
+    }
+
+    /**
+     * Sends all buffered messages into a browser console
+     */
+    public synchronized void flush() {
+        String script = drainScript();
+        if (script.isEmpty()) {
+            return;
+        }
+        try {
+            pageDriver.executeJS(script);
+        } catch (SessionLostException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            LOGGER.trace("Could not write messages to a browser console", ex);
+        }
+    }
 
     @Override
-    protected void logMessage(String message){
-        pageDriver.executeJS("console.log('" + message.replace("'", "\\'") + "')");
+    public void destroy() {
+        try {
+            flush();
+        } catch (Exception ex) {
+            LOGGER.trace("Could not write messages to a browser console", ex);
+        }
     }
 }
@@ -28,7 +28,13 @@ public class HighlightEventHandler implements IElementEventHandler {
 
     @Override
     public void beforeEvent(IInteractiveElement element, ElementEvent event, String comment, Object... args) {
+        beforeEvent(element, event, ActionDescription.of(comment), args);
+    }
+
+    @Override
+    public void beforeEvent(IInteractiveElement element, ElementEvent event, ActionDescription action, Object... args) {
         String actionName;
+        String comment;
         try {
             if (elementDriver.isElementDisplayed(element, false)) {
                 switch (event) {
@@ -38,11 +44,13 @@ public class HighlightEventHandler implements IElementEventHandler {
                         elementDriver.addElementDebugInfo(element, String.format(CHANGE_VALUE_MESSAGE, value), "");
                         break;
                     case READ_VALUE:
+                        comment = action.get();
                         actionName = StringUtils.isNoneBlank(comment) ? StringUtils.stripStart(comment, "read").trim() : "value";
                         elementDriver.highlightElement(element);
                         elementDriver.addElementDebugInfo(element, String.format(READ_VALUE_MESSAGE, actionName), "");
                         break;
                     case ACTION:
+                        comment = action.get();
                         actionName = StringUtils.isNoneBlank(comment) ? StringUtils.stripStart(comment, "perform").trim() : "value";
                         elementDriver.highlightElement(element);
                         elementDriver.addElementDebugInfo(element, String.format(PERFORM_ACTION_MESSAGE, actionName), "");
@@ -60,6 +68,11 @@ public class HighlightEventHandler implements IElementEventHandler {
 
     @Override
     public void afterEvent(IInteractiveElement element, ElementEvent event, String comment, Object... args) {
+        afterEvent(element, event, ActionDescription.of(comment), args);
+    }
+
+    @Override
+    public void afterEvent(IInteractiveElement element, ElementEvent event, ActionDescription action, Object... args) {
         try {
             switch (event) {
                 case CHANGE_VALUE:
@@ -21,4 +21,24 @@ import com.github.mishaninss.arma.html.interfaces.IInteractiveElement;
 public interface IElementEventHandler {
     default void beforeEvent(IInteractiveElement element, ElementEvent event, String comment, Object... args) {}
     default void afterEvent(IInteractiveElement element, ElementEvent event, String comment, Object... args) {}
+
+    /**
+     * Called before an event is fired. Events are dispatched through this method; by default it
+     * formats the description and delegates to {@link #beforeEvent(IInteractiveElement, ElementEvent, String, Object...)}.
+     * Handlers which don't need the description should override this method, so it is never formatted,
+     * and keep the String overload delegating to it. If a subclass overrides the String overload
+     * of a class, which overrides this method, events are dispatched through the String overload.
+     */
+    default void beforeEvent(IInteractiveElement element, ElementEvent event, ActionDescription action, Object... args) {
+        beforeEvent(element, event, action.get(), args);
+    }
+
+    /**
+     * Called after an event is fired. Events are dispatched through this method; by default it
+     * formats the description and delegates to {@link #afterEvent(IInteractiveElement, ElementEvent, String, Object...)}.
+     * Handlers which don't need the description should override this method, so it is never formatted.
+     */
+    default void afterEvent(IInteractiveElement element, ElementEvent event, ActionDescription action, Object... args) {
+        afterEvent(element, event, action.get(), args);
+    }
 }
@@ -28,10 +28,20 @@ public class IFrameEventHandler implements IElementEventHandler {
 
     @Override
     public void beforeEvent(IInteractiveElement element, ElementEvent event, String comment, Object... args) {
+        beforeEvent(element, event, ActionDescription.of(comment), args);
+    }
+
+    @Override
+    public void beforeEvent(IInteractiveElement element, ElementEvent event, ActionDescription action, Object... args) {
     }
 
     @Override
     public void afterEvent(IInteractiveElement element, ElementEvent event, String comment, Object... args) {
+        afterEvent(element, event, ActionDescription.of(comment), args);
+    }
+
+    @Override
+    public void afterEvent(IInteractiveElement element, ElementEvent event, ActionDescription action, Object... args) {
         arma.page().switchToDefaultContent();
     }
 }
@@ -0,0 +1,254 @@
+package com.github.mishaninss.arma.html.listeners;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import com.google.common.collect.Iterators;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.function.Predicate;
+import org.apache.commons.lang3.ArrayUtils;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * Immutable set of event listeners of an element. Chains are interned, so elements with the same
+ * listeners share one instance. Adding a listener creates a new chain and doesn't affect other
+ * elements. Listeners of every event are stored as arrays in the order they were added, along
+ * with reversed arrays used to notify listeners after an event.
+ */
+public final class ListenerChain {
+
+  private static final Interner<ListenerChain> INTERNER = Interners.newWeakInterner();
+  private static final ElementEvent[] EVENTS = ElementEvent.values();
+  private static final IElementEventHandler[] NO_LISTENERS = new IElementEventHandler[0];
+
+  public static final ListenerChain EMPTY = INTERNER.intern(new ListenerChain(emptyArrays()));
+
+  private final IElementEventHandler[][] listeners;
+  private final IElementEventHandler[][] reversedListeners;
+  private final int hashCode;
+
+  private ListenerChain(IElementEventHandler[][] listeners) {
+    this.listeners = listeners;
+    reversedListeners = new IElementEventHandler[listeners.length][];
+    for (var i = 0; i < listeners.length; i++) {
+      if (listeners[i].length > 1) {
+        reversedListeners[i] = listeners[i].clone();
+        ArrayUtils.reverse(reversedListeners[i]);
+      } else {
+        reversedListeners[i] = listeners[i];
+      }
+    }
+    hashCode = Arrays.deepHashCode(listeners);
+  }
+
+  /**
+   * Returns a chain with given listeners
+   *
+   * @param listeners - a map, where a key is an event and a value is a collection of listeners
+   */
+  public static @NonNull
+  ListenerChain of(
+      @Nullable Map<ElementEvent, ? extends Collection<IElementEventHandler>> listeners) {
+    if (listeners == null || listeners.isEmpty()) {
+      return EMPTY;
+    }
+    IElementEventHandler[][] arrays = emptyArrays();
+    listeners.forEach((event, eventListeners) -> {
+      if (eventListeners != null && !eventListeners.isEmpty()) {
+        arrays[event.ordinal()] = new LinkedHashSet<>(eventListeners).toArray(NO_LISTENERS);
+      }
+    });
+    return INTERNER.intern(new ListenerChain(arrays));
+  }
+
+  /**
+   * Returns a chain with a given listener added to listeners of a given event
+   */
+  public @NonNull
+  ListenerChain with(@NonNull ElementEvent event, @NonNull IElementEventHandler listener) {
+    if (ArrayUtils.contains(listeners[event.ordinal()], listener)) {
+      return this;
+    }
+    IElementEventHandler[][] arrays = listeners.clone();
+    arrays[event.ordinal()] = ArrayUtils.add(listeners[event.ordinal()], listener);
+    return INTERNER.intern(new ListenerChain(arrays));
+  }
+
+  /**
+   * Returns a chain with given listeners added to listeners of every event
+   */
+  public @NonNull
+  ListenerChain with(@NonNull Iterable<? extends IElementEventHandler> newListeners) {
+    IElementEventHandler[][] arrays = listeners.clone();
+    var changed = false;
+    for (ElementEvent event : EVENTS) {
+      LinkedHashSet<IElementEventHandler> eventListeners = null;
+      for (IElementEventHandler listener : newListeners) {
+        if (!ArrayUtils.contains(listeners[event.ordinal()], listener)) {
+          if (eventListeners == null) {
+            eventListeners = new LinkedHashSet<>(Arrays.asList(listeners[event.ordinal()]));
+          }
+          eventListeners.add(listener);
+        }
+      }
+      if (eventListeners != null) {
+        arrays[event.ordinal()] = eventListeners.toArray(NO_LISTENERS);
+        changed = true;
+      }
+    }
+    return changed ? INTERNER.intern(new ListenerChain(arrays)) : this;
+  }
+
+  /**
+   * Returns a chain without a given listener of a given event
+   */
+  public @NonNull
+  ListenerChain without(@NonNull ElementEvent event, @NonNull IElementEventHandler listener) {
+    int index = ArrayUtils.indexOf(listeners[event.ordinal()], listener);
+    if (index < 0) {
+      return this;
+    }
+    IElementEventHandler[][] arrays = listeners.clone();
+    arrays[event.ordinal()] = ArrayUtils.remove(listeners[event.ordinal()], index);
+    return INTERNER.intern(new ListenerChain(arrays));
+  }
+
+  /**
+   * Returns listeners of a given event in the order they were added. The array must not be
+   * modified
+   */
+  public @NonNull
+  IElementEventHandler[] get(@NonNull ElementEvent event) {
+    return listeners[event.ordinal()];
+  }
+
+  /**
+   * Returns listeners of a given event in reverse order. The array must not be modified
+   */
+  public @NonNull
+  IElementEventHandler[] getReversed(@NonNull ElementEvent event) {
+    return reversedListeners[event.ordinal()];
+  }
+
+  public boolean isEmpty() {
+    return this == EMPTY;
+  }
+
+  /**
+   * Returns an unmodifiable set of listeners of a given event or null if there are no listeners.
+   * Any attempt to modify the set throws {@link UnsupportedOperationException}
+   */
+  public @Nullable
+  LinkedHashSet<IElementEventHandler> toSet(@NonNull ElementEvent event) {
+    IElementEventHandler[] eventListeners = listeners[event.ordinal()];
+    return eventListeners.length > 0 ? new UnmodifiableSet(eventListeners) : null;
+  }
+
+  /**
+   * Returns an unmodifiable map of listeners. Any attempt to modify the map or its sets throws
+   * {@link UnsupportedOperationException}
+   */
+  public @NonNull
+  Map<ElementEvent, LinkedHashSet<IElementEventHandler>> toMap() {
+    Map<ElementEvent, LinkedHashSet<IElementEventHandler>> map = new EnumMap<>(ElementEvent.class);
+    for (ElementEvent event : EVENTS) {
+      LinkedHashSet<IElementEventHandler> eventListeners = toSet(event);
+      if (eventListeners != null) {
+        map.put(event, eventListeners);
+      }
+    }
+    return Collections.unmodifiableMap(map);
+  }
+
+  private static IElementEventHandler[][] emptyArrays() {
+    IElementEventHandler[][] arrays = new IElementEventHandler[EVENTS.length][];
+    Arrays.fill(arrays, NO_LISTENERS);
+    return arrays;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof ListenerChain)) {
+      return false;
+    }
+    ListenerChain that = (ListenerChain) o;
+    return hashCode == that.hashCode && Arrays.deepEquals(listeners, that.listeners);
+  }
+
+  @Override
+  public int hashCode() {
+    return hashCode;
+  }
+
+  /**
+   * Listeners of an event, which can't be modified. Listeners are changed through an element, e.g.
+   * {@link com.github.mishaninss.arma.html.interfaces.IListenableElement#removeEventListener(ElementEvent,
+   * IElementEventHandler)}, so changes of a returned set would be lost silently
+   */
+  private static final class UnmodifiableSet extends LinkedHashSet<IElementEventHandler> {
+
+    private final boolean initialized;
+
+    private UnmodifiableSet(IElementEventHandler[] listeners) {
+      super(Arrays.asList(listeners));
+      initialized = true;
+    }
+
+    @Override
+    public boolean add(IElementEventHandler listener) {
+      checkInitializing();
+      return super.add(listener);
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends IElementEventHandler> listeners) {
+      checkInitializing();
+      return super.addAll(listeners);
+    }
+
+    @Override
+    public boolean remove(Object listener) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> listeners) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> listeners) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super IElementEventHandler> filter) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void clear() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Iterator<IElementEventHandler> iterator() {
+      return Iterators.unmodifiableIterator(super.iterator());
+    }
+
+    private void checkInitializing() {
+      if (initialized) {
+        throw new UnsupportedOperationException();
+      }
+    }
+  }
+}
@@ -16,17 +16,112 @@
 
 package com.github.mishaninss.arma.html.listeners;
 
+import com.github.mishaninss.arma.data.UiCommonsProperties;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import com.github.mishaninss.arma.reporting.IReporter;
 import com.github.mishaninss.arma.reporting.Reporter;
 
+import java.util.Arrays;
+
+/**
+ * Writes event messages into the reporter. If {@link UiCommonsProperties.Framework#INTERACTIONS_LOG_BUFFER}
+ * is positive, events are stored in a ring buffer of that size instead, and are reported only when
+ * {@link #flush()} is called. If it is negative, events are not logged at all. Arguments of an event are converted to text when the event is stored,
+ * only formatting of a message is deferred.
+ * <p>
+ * The framework calls {@link #flush()} only when it builds an exception of a failed interaction, see
+ * {@link com.github.mishaninss.arma.aspects.IInteractiveElementExceptionBuilder}. Failures of a step,
+ * which are not caused by an interaction, e.g. failed assertions, are not detected by the framework, so
+ * a test runner should call {@link #flush()} from its failed step hook. The buffer is discarded when a
+ * new URL is opened, see {@link com.github.mishaninss.arma.aspects.PageDriverAspects}, so a failure
+ * never reports interactions of previous scenarios. Test runners can also call {@link #clear()} when
+ * a step or a scenario has passed
+ */
 @Component
-public class LoggingEventHandler extends BaseLoggingEventHandler {
+public class LoggingEventHandler extends BaseLoggingEventHandler implements InitializingBean {
+    private static final String MESSAGE_DROPPED = "... пропущено действий: %d";
+
     @Reporter
     private IReporter reporter;
+    @Autowired
+    private UiCommonsProperties properties;
+
+    private String[] formats;
+    private Object[][] arguments;
+    private int next;
+    private int size;
+    private long dropped;
+    private boolean enabled = true;
+
+    @Override
+    public void afterPropertiesSet() {
+        int capacity = properties.framework().interactionsLogBuffer;
+        enabled = capacity >= 0;
+        if (capacity > 0) {
+            formats = new String[capacity];
+            arguments = new Object[capacity][];
+        }
+    }
+
+    @Override
+    protected boolean isLogEnabled() {
+        return enabled;
+    }
 
     @Override
     protected void logMessage(String message) {
         reporter.info(message);
     }
+
+    @Override
+    protected void logEvent(String format, Object... args) {
+        if (formats == null) {
+            super.logEvent(format, args);
+            return;
+        }
+        Object[] snapshot = snapshotArgs(args);
+        synchronized (this) {
+            formats[next] = format;
+            arguments[next] = snapshot;
+            next = (next + 1) % formats.length;
+            if (size < formats.length) {
+                size++;
+            } else {
+                dropped++;
+            }
+        }
+    }
+
+    /**
+     * Reports buffered events and clears the buffer. Does nothing if buffering is disabled
+     */
+    public synchronized void flush() {
+        if (formats == null || size == 0) {
+            return;
+        }
+        if (dropped > 0) {
+            logMessage(String.format(MESSAGE_DROPPED, dropped));
+        }
+        int index = (next - size + formats.length) % formats.length;
+        for (int i = 0; i < size; i++) {
+            logMessage(String.format(formats[index], arguments[index]));
+            index = (index + 1) % formats.length;
+        }
+        clear();
+    }
+
+    /**
+     * Discards buffered events, e.g. when a step has passed or a new URL is opened
+     */
+    public synchronized void clear() {
+        if (formats != null) {
+            Arrays.fill(formats, null);
+            Arrays.fill(arguments, null);
+        }
+        next = 0;
+        size = 0;
+        dropped = 0;
+    }
 }
@@ -19,6 +19,11 @@ public class ScrollingEventHandler implements IElementEventHandler {
 
     @Override
     public void beforeEvent(IInteractiveElement element, ElementEvent event, String comment, Object... args) {
+        beforeEvent(element, event, ActionDescription.of(comment), args);
+    }
+
+    @Override
+    public void beforeEvent(IInteractiveElement element, ElementEvent event, ActionDescription action, Object... args) {
         if (event != ElementEvent.IS_DISPLAYED) {
             try {
                 elementDriver.scrollToElement(element);
@@ -32,6 +37,11 @@ public class ScrollingEventHandler implements IElementEventHandler {
 
     @Override
     public void afterEvent(IInteractiveElement element, ElementEvent event, String comment, Object... args) {
+        afterEvent(element, event, ActionDescription.of(comment), args);
+    }
+
+    @Override
+    public void afterEvent(IInteractiveElement element, ElementEvent event, ActionDescription action, Object... args) {
         if (event == ElementEvent.IS_DISPLAYED && args.length > 0 && args[0] instanceof Boolean && (boolean) args[0]) {
             try {
                 elementDriver.scrollToElement(element);
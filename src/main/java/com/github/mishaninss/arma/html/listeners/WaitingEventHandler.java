@@ -1,25 +1,30 @@
 package com.github.mishaninss.arma.html.listeners;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import com.github.mishaninss.arma.exceptions.SessionLostException;
 import com.github.mishaninss.arma.html.interfaces.IInteractiveElement;
 import com.github.mishaninss.arma.reporting.IReporter;
 import com.github.mishaninss.arma.reporting.Reporter;
-import com.github.mishaninss.arma.uidriver.annotations.WaitingDriver;
-import com.github.mishaninss.arma.uidriver.interfaces.IWaitingDriver;
+import com.github.mishaninss.arma.uidriver.PageStabilityTracker;
 
 @Component
 public class WaitingEventHandler implements IElementEventHandler {
-    @WaitingDriver
-    private IWaitingDriver waitingDriver;
+    @Autowired
+    private PageStabilityTracker pageStabilityTracker;
     @Reporter
     private IReporter reporter;
 
     @Override
     public void beforeEvent(IInteractiveElement element, ElementEvent event, String comment, Object... args) {
+        beforeEvent(element, event, ActionDescription.of(comment), args);
+    }
+
+    @Override
+    public void beforeEvent(IInteractiveElement element, ElementEvent event, ActionDescription action, Object... args) {
         try {
             if (event != ElementEvent.IS_DISPLAYED) {
-                waitingDriver.waitForPageUpdate();
+                pageStabilityTracker.waitForPageUpdate();
             }
         } catch (SessionLostException ex) {
             throw ex;
@@ -30,9 +35,14 @@ public class WaitingEventHandler implements IElementEventHandler {
 
     @Override
     public void afterEvent(IInteractiveElement element, ElementEvent event, String comment, Object... args) {
+        afterEvent(element, event, ActionDescription.of(comment), args);
+    }
+
+    @Override
+    public void afterEvent(IInteractiveElement element, ElementEvent event, ActionDescription action, Object... args) {
         try {
             if (event != ElementEvent.IS_DISPLAYED) {
-                waitingDriver.waitForPageUpdate();
+                pageStabilityTracker.waitForPageUpdate();
             }
         } catch (SessionLostException ex) {
             throw ex;
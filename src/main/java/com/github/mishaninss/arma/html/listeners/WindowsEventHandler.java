@@ -15,11 +15,24 @@ public class WindowsEventHandler implements IElementEventHandler {
 
     @Override
     public void beforeEvent(IInteractiveElement element, ElementEvent event, String comment, Object... args) {
-        windowsManager.ensureLastWindow();
+        beforeEvent(element, event, ActionDescription.of(comment), args);
+    }
+
+    @Override
+    public void beforeEvent(IInteractiveElement element, ElementEvent event, ActionDescription action, Object... args) {
+        windowsManager.ensureLastWindowIfChanged();
     }
 
     @Override
     public void afterEvent(IInteractiveElement element, ElementEvent event, String comment, Object... args) {
-        windowsManager.ensureLastWindow();
+        afterEvent(element, event, ActionDescription.of(comment), args);
+    }
+
+    @Override
+    public void afterEvent(IInteractiveElement element, ElementEvent event, ActionDescription action, Object... args) {
+        if (event == ElementEvent.ACTION) {
+            windowsManager.markDirty();
+        }
+        windowsManager.ensureLastWindowIfChanged();
     }
 }
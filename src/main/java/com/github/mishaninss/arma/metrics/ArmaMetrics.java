@@ -0,0 +1,123 @@
+package com.github.mishaninss.arma.metrics;
+
+import com.github.mishaninss.arma.data.UiCommonsProperties;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Metrics collected within an application context. When the context is closed, metrics are
+ * written as JSON into the directory specified by {@link UiCommonsProperties.Framework#METRICS_DIR}.
+ * Metrics of the context, which belongs to the current thread, are available from {@link #get()},
+ * e.g. for aspects, which are shared between contexts
+ */
+@Component
+public class ArmaMetrics implements InitializingBean, DisposableBean {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ArmaMetrics.class);
+  private static final String DUMP_FILE_PREFIX = "arma-metrics-";
+  private static final ThreadLocal<ArmaMetrics> INSTANCES = new ThreadLocal<>();
+
+  @Autowired
+  private ApplicationContext applicationContext;
+  @Autowired
+  private UiCommonsProperties properties;
+
+  private final ContainerMetrics containers = new ContainerMetrics();
+  private final ListenerMetrics listeners = new ListenerMetrics();
+  private final LongAdder avoidedCaptures = new LongAdder();
+  private boolean listenerMetricsEnabled;
+
+  @Override
+  public void afterPropertiesSet() {
+    listenerMetricsEnabled = properties.framework().listenerMetrics;
+    INSTANCES.set(this);
+  }
+
+  /**
+   * Makes this instance available from {@link #get()} in the current thread, e.g. in a worker
+   * thread, which initializes beans of the context
+   */
+  public void bindToCurrentThread() {
+    INSTANCES.set(this);
+  }
+
+  /**
+   * Removes an instance bound to the current thread
+   */
+  public static void unbindFromCurrentThread() {
+    INSTANCES.remove();
+  }
+
+  /**
+   * Returns metrics of the context bound to the current thread or null if there is no such context
+   */
+  public static ArmaMetrics get() {
+    return INSTANCES.get();
+  }
+
+  public ContainerMetrics containers() {
+    return containers;
+  }
+
+  /**
+   * Returns latencies of event handlers. They are recorded only if
+   * {@link UiCommonsProperties.Framework#LISTENER_METRICS} is enabled
+   */
+  public ListenerMetrics listeners() {
+    return listeners;
+  }
+
+  public boolean areListenerMetricsEnabled() {
+    return listenerMetricsEnabled;
+  }
+
+  /**
+   * Records a failure within {@link com.github.mishaninss.arma.aspects.QuietInteractions}, for
+   * which no screenshot and logs were collected
+   */
+  public void recordAvoidedCapture() {
+    avoidedCaptures.increment();
+  }
+
+  public long getAvoidedCaptures() {
+    return avoidedCaptures.sum();
+  }
+
+  public String toJson() {
+    return "{\"context\":\"" + getContextId() + "\",\"containers\":" + containers.toJson()
+        + ",\"listeners\":" + listeners.toJson()
+        + ",\"avoidedCaptures\":" + getAvoidedCaptures() + "}";
+  }
+
+  @Override
+  public void destroy() {
+    INSTANCES.remove();
+    String metricsDir = properties.framework().metricsDir;
+    if (StringUtils.isBlank(metricsDir)) {
+      return;
+    }
+    Path file = Paths.get(metricsDir, DUMP_FILE_PREFIX + getContextId() + ".json");
+    try {
+      Files.createDirectories(file.toAbsolutePath().getParent());
+      Files.write(file, toJson().getBytes(StandardCharsets.UTF_8));
+    } catch (IOException ex) {
+      LOGGER.warn("Could not write metrics to {}", file, ex);
+    }
+  }
+
+  private String getContextId() {
+    return StringUtils.defaultString(applicationContext.getId()).replaceAll("[^\\w.-]", "_");
+  }
+}
@@ -0,0 +1,40 @@
+package com.github.mishaninss.arma.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event of a container initializing
+ */
+@Name("com.github.mishaninss.arma.ContainerInit")
+@Label("Container Init")
+@Category({"Arma", "Containers"})
+@Description("Initializing of a container instance")
+@StackTrace(false)
+final class ContainerInitEvent extends Event {
+
+  @Label("Container Class")
+  String containerClass;
+
+  @Label("Init Time")
+  @Timespan(Timespan.NANOSECONDS)
+  long initTime;
+
+  @Label("Elements Created")
+  int elements;
+
+  static void commit(Class<?> containerClass, long nanos, int elements) {
+    var event = new ContainerInitEvent();
+    if (event.isEnabled()) {
+      event.containerClass = containerClass.getName();
+      event.initTime = nanos;
+      event.elements = elements;
+      event.commit();
+    }
+  }
+}
@@ -0,0 +1,225 @@
+package com.github.mishaninss.arma.metrics;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * Initializing metrics of containers, collected per container class: number and time of
+ * initializations, number of created element controllers, lookups of container specs, time of
+ * loading locator files and time of creating container prototypes for {@code @Container} fields.
+ * Every recorded initialization is also emitted as a JFR event, if a flight recording is running.
+ * <p>
+ * Specs and locator files are cached JVM-wide, see
+ * {@link com.github.mishaninss.arma.html.containers.ContainerSpecCache}. Spec lookups and spec
+ * resolves are counted by the context, which performed them, so a context, which used specs
+ * resolved by another context, shows lookups without resolves. Locator files are loaded while a
+ * spec is resolved, so their loading is recorded only by the context, which resolved the spec.
+ */
+public final class ContainerMetrics {
+
+  private final Map<Class<?>, Stats> stats = new ConcurrentHashMap<>();
+
+  /**
+   * Records initializing of a container instance
+   *
+   * @param containerClass - class of a container
+   * @param nanos          - time of initializing
+   * @param elements       - number of element controllers created during initializing
+   */
+  public void recordInit(@NonNull Class<?> containerClass, long nanos, int elements) {
+    Stats containerStats = getOrCreate(containerClass);
+    containerStats.initCount.increment();
+    containerStats.initNanos.add(nanos);
+    containerStats.maxInitNanos.accumulate(nanos);
+    containerStats.elementsCreated.add(elements);
+    ContainerInitEvent.commit(containerClass, nanos, elements);
+  }
+
+  /**
+   * Records creating of an element controller outside of a container initializing, e.g. a
+   * controller of a lazy container
+   */
+  public void recordElementCreated(@NonNull Class<?> containerClass) {
+    getOrCreate(containerClass).elementsCreated.increment();
+  }
+
+  /**
+   * Records a lookup of a spec of a container class in the spec cache
+   *
+   * @param resolved - true if the spec was not cached and was resolved by this lookup
+   */
+  public void recordSpecLookup(@NonNull Class<?> containerClass, boolean resolved) {
+    Stats containerStats = getOrCreate(containerClass);
+    containerStats.specLookupCount.increment();
+    if (resolved) {
+      containerStats.specResolveCount.increment();
+    }
+  }
+
+  /**
+   * Records loading of a locators file of a container class
+   */
+  public void recordLocatorsLoad(@NonNull Class<?> containerClass, long nanos) {
+    Stats containerStats = getOrCreate(containerClass);
+    containerStats.locatorsLoadCount.increment();
+    containerStats.locatorsLoadNanos.add(nanos);
+    LocatorsLoadEvent.commit(containerClass, nanos);
+  }
+
+  /**
+   * Records creating of a container prototype for a {@code @Container} field
+   */
+  public void recordPrototype(@NonNull Class<?> containerClass, long nanos) {
+    Stats containerStats = getOrCreate(containerClass);
+    containerStats.prototypeCount.increment();
+    containerStats.prototypeNanos.add(nanos);
+  }
+
+  /**
+   * Returns metrics of a given container class or null if nothing was recorded for it
+   */
+  public @Nullable
+  Stats get(@NonNull Class<?> containerClass) {
+    return stats.get(containerClass);
+  }
+
+  /**
+   * Returns metrics of all container classes, ordered by total initializing time descending
+   */
+  public @NonNull
+  List<Stats> getAll() {
+    return stats.values().stream()
+        .sorted(Comparator.comparingLong(Stats::getTotalInitNanos).reversed())
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Returns metrics of container classes with the longest total initializing time
+   *
+   * @param limit - maximum number of classes to return
+   */
+  public @NonNull
+  List<Stats> getSlowest(int limit) {
+    return getAll().stream().limit(limit).collect(Collectors.toList());
+  }
+
+  public void reset() {
+    stats.clear();
+  }
+
+  public String toJson() {
+    List<String> entries = new ArrayList<>();
+    getAll().forEach(containerStats -> entries.add(containerStats.toJson()));
+    return "[" + String.join(",", entries) + "]";
+  }
+
+  private Stats getOrCreate(Class<?> containerClass) {
+    return stats.computeIfAbsent(containerClass, Stats::new);
+  }
+
+  /**
+   * Metrics of a single container class
+   */
+  public static final class Stats {
+
+    private final Class<?> containerClass;
+    private final LongAdder initCount = new LongAdder();
+    private final LongAdder initNanos = new LongAdder();
+    private final LongAccumulator maxInitNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder elementsCreated = new LongAdder();
+    private final LongAdder specLookupCount = new LongAdder();
+    private final LongAdder specResolveCount = new LongAdder();
+    private final LongAdder locatorsLoadCount = new LongAdder();
+    private final LongAdder locatorsLoadNanos = new LongAdder();
+    private final LongAdder prototypeCount = new LongAdder();
+    private final LongAdder prototypeNanos = new LongAdder();
+
+    private Stats(Class<?> containerClass) {
+      this.containerClass = containerClass;
+    }
+
+    public Class<?> getContainerClass() {
+      return containerClass;
+    }
+
+    public long getInitCount() {
+      return initCount.sum();
+    }
+
+    public Duration getTotalInitTime() {
+      return Duration.ofNanos(getTotalInitNanos());
+    }
+
+    public Duration getMaxInitTime() {
+      return Duration.ofNanos(maxInitNanos.get());
+    }
+
+    public long getElementsCreated() {
+      return elementsCreated.sum();
+    }
+
+    public long getSpecLookupCount() {
+      return specLookupCount.sum();
+    }
+
+    /**
+     * Returns number of spec lookups, which resolved a spec instead of using a cached one
+     */
+    public long getSpecResolveCount() {
+      return specResolveCount.sum();
+    }
+
+    public long getLocatorsLoadCount() {
+      return locatorsLoadCount.sum();
+    }
+
+    public Duration getLocatorsLoadTime() {
+      return Duration.ofNanos(locatorsLoadNanos.sum());
+    }
+
+    public long getPrototypeCount() {
+      return prototypeCount.sum();
+    }
+
+    public Duration getPrototypeTime() {
+      return Duration.ofNanos(prototypeNanos.sum());
+    }
+
+    private long getTotalInitNanos() {
+      return initNanos.sum();
+    }
+
+    String toJson() {
+      return String.format(Locale.ROOT,
+          "{\"class\":\"%s\",\"initCount\":%d,\"totalInitMillis\":%.3f,\"maxInitMillis\":%.3f,"
+              + "\"elementsCreated\":%d,\"specLookupCount\":%d,\"specResolveCount\":%d,"
+              + "\"locatorsLoadCount\":%d,\"locatorsLoadMillis\":%.3f,"
+              + "\"prototypeCount\":%d,\"prototypeMillis\":%.3f}",
+          containerClass.getName(), getInitCount(), toMillis(getTotalInitNanos()),
+          toMillis(maxInitNanos.get()), getElementsCreated(), getSpecLookupCount(),
+          getSpecResolveCount(), getLocatorsLoadCount(),
+          toMillis(locatorsLoadNanos.sum()), getPrototypeCount(), toMillis(prototypeNanos.sum()));
+    }
+
+    private static double toMillis(long nanos) {
+      return nanos / 1_000_000d;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("%s: %d inits, %d ms total, %d ms max, %d elements, %d ms locators",
+          containerClass.getName(), getInitCount(), getTotalInitTime().toMillis(),
+          getMaxInitTime().toMillis(), getElementsCreated(), getLocatorsLoadTime().toMillis());
+    }
+  }
+}
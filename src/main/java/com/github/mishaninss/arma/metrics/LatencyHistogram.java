@@ -0,0 +1,89 @@
+package com.github.mishaninss.arma.metrics;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of latencies with power of two buckets. A bucket {@code i} counts latencies
+ * in range [2^(i-1), 2^i) nanoseconds, so percentiles are accurate within a factor of two
+ */
+public final class LatencyHistogram {
+
+  private static final int BUCKETS = Long.SIZE + 1;
+
+  private final LongAdder[] buckets = new LongAdder[BUCKETS];
+  private final LongAdder count = new LongAdder();
+  private final LongAdder totalNanos = new LongAdder();
+  private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+  public LatencyHistogram() {
+    for (var i = 0; i < BUCKETS; i++) {
+      buckets[i] = new LongAdder();
+    }
+  }
+
+  public void record(long nanos) {
+    long value = Math.max(nanos, 0);
+    buckets[Long.SIZE - Long.numberOfLeadingZeros(value)].increment();
+    count.increment();
+    totalNanos.add(value);
+    maxNanos.accumulate(value);
+  }
+
+  public long getCount() {
+    return count.sum();
+  }
+
+  public Duration getTotalTime() {
+    return Duration.ofNanos(totalNanos.sum());
+  }
+
+  public Duration getMaxTime() {
+    return Duration.ofNanos(maxNanos.get());
+  }
+
+  /**
+   * Returns an upper bound of a given percentile of latencies
+   *
+   * @param percentile - percentile in range (0, 100]
+   */
+  public Duration getPercentile(double percentile) {
+    long total = getCount();
+    if (total == 0) {
+      return Duration.ZERO;
+    }
+    long rank = (long) Math.ceil(total * percentile / 100);
+    long seen = 0;
+    for (var i = 0; i < BUCKETS; i++) {
+      seen += buckets[i].sum();
+      if (seen >= rank) {
+        return Duration.ofNanos(Math.min(i < Long.SIZE - 1 ? (1L << i) - 1 : Long.MAX_VALUE,
+            maxNanos.get()));
+      }
+    }
+    return getMaxTime();
+  }
+
+  public void reset() {
+    for (LongAdder bucket : buckets) {
+      bucket.reset();
+    }
+    count.reset();
+    totalNanos.reset();
+    maxNanos.reset();
+  }
+
+  String toJson() {
+    return String.format(Locale.ROOT,
+        "{\"count\":%d,\"totalMillis\":%.3f,\"p50Millis\":%.3f,\"p99Millis\":%.3f,"
+            + "\"maxMillis\":%.3f}",
+        getCount(), toMillis(getTotalTime()), toMillis(getPercentile(50)),
+        toMillis(getPercentile(99)), toMillis(getMaxTime()));
+  }
+
+  private static double toMillis(Duration duration) {
+    return duration.toNanos() / 1_000_000d;
+  }
+}
@@ -0,0 +1,108 @@
+package com.github.mishaninss.arma.metrics;
+
+import com.github.mishaninss.arma.html.listeners.ElementEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * Latencies of the element events pipeline: time spent by every event handler before and after
+ * every event, and time of the event firing calls themselves
+ */
+public final class ListenerMetrics {
+
+  private static final ElementEvent[] EVENTS = ElementEvent.values();
+
+  /**
+   * Stage of an event dispatch
+   */
+  public enum Phase {
+    BEFORE, AFTER
+  }
+
+  private final Map<Class<?>, LatencyHistogram[]> handlers = new ConcurrentHashMap<>();
+  private final LatencyHistogram[] calls = createHistograms(EVENTS.length);
+
+  /**
+   * Records time spent by an event handler
+   */
+  public void recordHandler(@NonNull ElementEvent event, @NonNull Class<?> handlerClass,
+      @NonNull Phase phase, long nanos) {
+    LatencyHistogram[] histograms = handlers.get(handlerClass);
+    if (histograms == null) {
+      histograms = handlers.computeIfAbsent(handlerClass,
+          key -> createHistograms(EVENTS.length * Phase.values().length));
+    }
+    histograms[index(event, phase)].record(nanos);
+  }
+
+  /**
+   * Records time of an event firing call, excluding time of its handlers
+   */
+  public void recordCall(@NonNull ElementEvent event, long nanos) {
+    calls[event.ordinal()].record(nanos);
+  }
+
+  /**
+   * Returns latencies of an event handler or null if nothing was recorded for it
+   */
+  public @Nullable
+  LatencyHistogram getHandler(@NonNull Class<?> handlerClass, @NonNull ElementEvent event,
+      @NonNull Phase phase) {
+    LatencyHistogram[] histograms = handlers.get(handlerClass);
+    return histograms != null ? histograms[index(event, phase)] : null;
+  }
+
+  /**
+   * Returns latencies of event firing calls
+   */
+  public @NonNull
+  LatencyHistogram getCall(@NonNull ElementEvent event) {
+    return calls[event.ordinal()];
+  }
+
+  public void reset() {
+    handlers.clear();
+    for (LatencyHistogram histogram : calls) {
+      histogram.reset();
+    }
+  }
+
+  public String toJson() {
+    List<String> entries = new ArrayList<>();
+    for (ElementEvent event : EVENTS) {
+      LatencyHistogram histogram = calls[event.ordinal()];
+      if (histogram.getCount() > 0) {
+        entries.add("{\"event\":\"" + event + "\",\"handler\":null,\"phase\":\"CALL\","
+            + "\"latency\":" + histogram.toJson() + "}");
+      }
+    }
+    handlers.forEach((handlerClass, histograms) -> {
+      for (ElementEvent event : EVENTS) {
+        for (Phase phase : Phase.values()) {
+          LatencyHistogram histogram = histograms[index(event, phase)];
+          if (histogram.getCount() > 0) {
+            entries.add("{\"event\":\"" + event + "\",\"handler\":\"" + handlerClass.getName()
+                + "\",\"phase\":\"" + phase + "\",\"latency\":" + histogram.toJson() + "}");
+          }
+        }
+      }
+    });
+    return "[" + String.join(",", entries) + "]";
+  }
+
+  private static int index(ElementEvent event, Phase phase) {
+    return phase.ordinal() * EVENTS.length + event.ordinal();
+  }
+
+  private static LatencyHistogram[] createHistograms(int size) {
+    LatencyHistogram[] histograms = new LatencyHistogram[size];
+    for (var i = 0; i < size; i++) {
+      histograms[i] = new LatencyHistogram();
+    }
+    return histograms;
+  }
+}
@@ -0,0 +1,36 @@
+package com.github.mishaninss.arma.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event of loading locators of a container class
+ */
+@Name("com.github.mishaninss.arma.LocatorsLoad")
+@Label("Locators Load")
+@Category({"Arma", "Containers"})
+@Description("Loading of a locators file of a container class")
+@StackTrace(false)
+final class LocatorsLoadEvent extends Event {
+
+  @Label("Container Class")
+  String containerClass;
+
+  @Label("Load Time")
+  @Timespan(Timespan.NANOSECONDS)
+  long loadTime;
+
+  static void commit(Class<?> containerClass, long nanos) {
+    var event = new LocatorsLoadEvent();
+    if (event.isEnabled()) {
+      event.containerClass = containerClass.getName();
+      event.loadTime = nanos;
+      event.commit();
+    }
+  }
+}
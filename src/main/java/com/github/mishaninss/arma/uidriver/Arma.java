@@ -6,6 +6,7 @@ import com.github.mishaninss.arma.html.containers.ArmaContainer;
 import com.github.mishaninss.arma.html.containers.ContainersFactory;
 import com.github.mishaninss.arma.html.containers.table.Table;
 import com.github.mishaninss.arma.html.elements.ElementBuilder;
+import com.github.mishaninss.arma.metrics.ArmaMetrics;
 import com.github.mishaninss.arma.uidriver.annotations.AlertHandler;
 import com.github.mishaninss.arma.uidriver.annotations.BrowserDriver;
 import com.github.mishaninss.arma.uidriver.annotations.ElementDriver;
@@ -48,6 +49,7 @@ import static java.lang.String.format;
 public class Arma implements InitializingBean, DisposableBean {
     private static final ThreadLocal<Arma> INSTANCES = new ThreadLocal<>();
     private static AnnotationConfigApplicationContext staticContext;
+    private static boolean staticContextClaimed;
     private static ContextBuilder contextBuilder;
 
     @Autowired
@@ -78,6 +80,10 @@ public class Arma implements InitializingBean, DisposableBean {
     private UiCommonsProperties properties;
     @Autowired
     private ContainersFactory containersFactory;
+    @Autowired
+    private ArmaMetrics metrics;
+    @Autowired
+    private PageStabilityTracker pageStabilityTracker;
 
     private ArmaContainer currentPage;
 
@@ -94,6 +100,21 @@ public class Arma implements InitializingBean, DisposableBean {
         INSTANCES.remove();
     }
 
+    /**
+     * Makes this instance available from {@link #get()} in the current thread, e.g. in a worker
+     * thread, which initializes beans of this context
+     */
+    public void bindToCurrentThread() {
+        INSTANCES.set(this);
+    }
+
+    /**
+     * Removes an instance bound to the current thread
+     */
+    public static void unbindFromCurrentThread() {
+        INSTANCES.remove();
+    }
+
     public static Arma get() {
         Arma arma = INSTANCES.get();
         if (arma == null) {
@@ -127,6 +148,14 @@ public class Arma implements InitializingBean, DisposableBean {
         return containersFactory;
     }
 
+    public ArmaMetrics metrics() {
+        return metrics;
+    }
+
+    public PageStabilityTracker pageStability() {
+        return pageStabilityTracker;
+    }
+
     public IElementDriver element() {
         return elementDriver;
     }
@@ -276,16 +305,29 @@ public class Arma implements InitializingBean, DisposableBean {
     }
 
     private static Arma up(String browserName) {
+        AnnotationConfigApplicationContext context = claimContext(browserName);
+        context.refresh();
+        return context.getBean(Arma.class);
+    }
+
+    /**
+     * Returns a context to refresh for the current thread. The static context is used by the first
+     * session, other sessions get contexts forked from the static context builder
+     */
+    private static synchronized AnnotationConfigApplicationContext claimContext(String browserName) {
         if (staticContext == null) {
-            using().profiles(browserName).build();
-        } else {
+            using().buildSession(browserName);
+        } else if (staticContextClaimed) {
+            return using().fork().buildSession(browserName);
+        } else if (StringUtils.isNotBlank(browserName)) {
             staticContext.getEnvironment().addActiveProfile(browserName);
         }
-        staticContext.refresh();
-        return staticContext.getBean(Arma.class);
+        staticContextClaimed = true;
+        return staticContext;
     }
 
-    static void setApplicationContext(AnnotationConfigApplicationContext context) {
+    static synchronized void setApplicationContext(AnnotationConfigApplicationContext context) {
         staticContext = context;
+        staticContextClaimed = false;
     }
 }
\ No newline at end of file
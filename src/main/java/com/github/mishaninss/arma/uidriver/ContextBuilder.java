@@ -17,6 +17,7 @@
 package com.github.mishaninss.arma.uidriver;
 
 import com.github.mishaninss.arma.data.UiCommonsProperties;
+import com.github.mishaninss.arma.html.containers.ContainersWarmUp;
 import com.github.mishaninss.arma.uidriver.annotations.BrowserDriver;
 import com.github.mishaninss.arma.uidriver.annotations.ElementDriver;
 import com.github.mishaninss.arma.uidriver.annotations.ElementsDriver;
@@ -31,35 +32,106 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.AnnotatedGenericBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
 import org.springframework.beans.factory.support.AutowireCandidateQualifier;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.GenericBeanDefinition;
+import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigUtils;
+import org.springframework.context.annotation.ClassPathBeanDefinitionScanner;
 import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
 import com.github.mishaninss.arma.config.UiCommonsConfig;
 import com.github.mishaninss.arma.reporting.IReporter;
 import com.github.mishaninss.arma.reporting.Reporter;
 
 import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 public class ContextBuilder {
     private static final Logger LOGGER = LoggerFactory.getLogger(ContextBuilder.class);
+    private static final int METADATA_CACHE_LIMIT = 16384;
+    private static final CachingMetadataReaderFactory METADATA_READER_FACTORY = createMetadataReaderFactory();
+    private static final Map<String, Map<String, BeanDefinition>> SCANNED_COMPONENTS = new ConcurrentHashMap<>();
 
-    private AnnotationConfigApplicationContext applicationContext;
+    private final AnnotationConfigApplicationContext applicationContext;
+    private final boolean fork;
+    private final List<Class<?>> configClasses = new ArrayList<>();
+    private final Set<String> componentsLocations = new LinkedHashSet<>();
+    private final Set<String> profiles = new LinkedHashSet<>();
+    private final List<Consumer<ContextBuilder>> beanRegistrations = new ArrayList<>();
+    private ApplicationContext parent;
+    private int warmUpParallelism;
     private boolean wasParentConfigRegistered;
 
     public ContextBuilder() {
+        this(false);
+    }
+
+    private ContextBuilder(boolean fork) {
+        this.fork = fork;
         applicationContext = new AnnotationConfigApplicationContext();
     }
 
+    /**
+     * Creates a builder of a new context with the same configuration as this builder: config
+     * classes, components locations, profiles, parent context and registered drivers and reporter.
+     * Drivers and reporter are instantiated anew for a forked context. Components locations are
+     * scanned once per JVM, and class metadata read during the scan is shared by all contexts, so
+     * building a forked context for another session doesn't repeat the classpath scan.
+     * A context built by a forked builder doesn't replace the static context of {@link Arma}.
+     *
+     * @return a new builder
+     */
+    public ContextBuilder fork() {
+        var forked = new ContextBuilder(true);
+        if (parent != null) {
+            forked.parent(parent);
+        }
+        if (!configClasses.isEmpty()) {
+            forked.baseConfig(configClasses.toArray(new Class<?>[0]));
+        }
+        forked.componentsLocations(componentsLocations.toArray(new String[0]));
+        beanRegistrations.forEach(registration -> registration.accept(forked));
+        forked.profiles(profiles.toArray(new String[0]));
+        forked.warmUpParallelism = warmUpParallelism;
+        return forked;
+    }
+
+    /**
+     * Sets a parent context, e.g. a context with beans shared by all sessions
+     */
+    public ContextBuilder parent(ApplicationContext parent) {
+        this.parent = parent;
+        applicationContext.setParent(parent);
+        return this;
+    }
+
     public ContextBuilder baseConfig(Class<?>... configClass) {
         Preconditions.checkArgument(ArrayUtils.isNotEmpty(configClass), "Config classes was not provided");
         applicationContext.register(configClass);
+        configClasses.addAll(Arrays.asList(configClass));
         wasParentConfigRegistered = true;
         return this;
     }
 
+    /**
+     * Adds locations of components to scan. Locations are scanned when a context is built
+     */
     public ContextBuilder componentsLocations(String... pageObjectLocation) {
         if (ArrayUtils.isNotEmpty(pageObjectLocation)) {
-            applicationContext.scan(pageObjectLocation);
+            componentsLocations.addAll(Arrays.asList(pageObjectLocation));
         }
         return this;
     }
@@ -89,16 +161,52 @@ public class ContextBuilder {
         return this;
     }
 
+    /**
+     * Enables warm-up of container beans while a context is refreshed, see {@link ContainersWarmUp}.
+     * Report of the warm-up is available from the {@link ContainersWarmUp} bean
+     *
+     * @param parallelism - number of threads used to initialize containers
+     */
+    public ContextBuilder warmUpContainers(int parallelism) {
+        Preconditions.checkArgument(parallelism > 0, "Parallelism must be positive");
+        warmUpParallelism = parallelism;
+        return this;
+    }
+
+    public ContextBuilder warmUpContainers() {
+        return warmUpContainers(Runtime.getRuntime().availableProcessors());
+    }
+
     public ContextBuilder profiles(String... profiles) {
         if (ArrayUtils.isNotEmpty(profiles)) {
             ConfigurableEnvironment environment = applicationContext.getEnvironment();
             for (String profile : profiles) {
                 environment.addActiveProfile(profile);
+                this.profiles.add(profile);
             }
         }
         return this;
     }
 
+    /**
+     * Builds a context of a session. Session profiles, e.g. a browser name, are activated in the built
+     * context only. They are not kept by this builder, so contexts forked for other sessions don't
+     * inherit them
+     *
+     * @param sessionProfiles - profiles of the session, blank values are ignored
+     */
+    AnnotationConfigApplicationContext buildSession(String... sessionProfiles) {
+        if (sessionProfiles != null) {
+            ConfigurableEnvironment environment = applicationContext.getEnvironment();
+            for (String profile : sessionProfiles) {
+                if (StringUtils.isNotBlank(profile)) {
+                    environment.addActiveProfile(profile);
+                }
+            }
+        }
+        return build();
+    }
+
     public AnnotationConfigApplicationContext build() {
         if (!wasParentConfigRegistered) {
             Class<?> configClass = null;
@@ -119,13 +227,71 @@ public class ContextBuilder {
             }
             applicationContext.register(configClass);
         }
-        Arma.setApplicationContext(applicationContext);
+        registerScannedComponents();
+        useSharedMetadataReaderFactory();
+        if (warmUpParallelism > 0) {
+            var warmUp = new ContainersWarmUp(applicationContext, warmUpParallelism);
+            var definition = new GenericBeanDefinition();
+            definition.setBeanClass(ContainersWarmUp.class);
+            definition.setInstanceSupplier(() -> warmUp);
+            applicationContext.registerBeanDefinition(ContainersWarmUp.BEAN_NAME, definition);
+        }
+        if (!fork) {
+            Arma.setApplicationContext(applicationContext);
+        }
         return applicationContext;
     }
 
+    private void registerScannedComponents() {
+        if (componentsLocations.isEmpty()) {
+            return;
+        }
+        String key = String.join(",", componentsLocations) + "|"
+                + String.join(",", applicationContext.getEnvironment().getActiveProfiles());
+        Map<String, BeanDefinition> definitions = SCANNED_COMPONENTS.computeIfAbsent(key, k -> scanComponents());
+        definitions.forEach((beanName, definition) -> {
+            if (!applicationContext.containsBeanDefinition(beanName)) {
+                applicationContext.registerBeanDefinition(beanName,
+                        ((AbstractBeanDefinition) definition).cloneBeanDefinition());
+            }
+        });
+    }
+
+    private Map<String, BeanDefinition> scanComponents() {
+        var registry = new DefaultListableBeanFactory();
+        var scanner = new ClassPathBeanDefinitionScanner(registry, true, applicationContext.getEnvironment());
+        scanner.setResourceLoader(applicationContext);
+        scanner.setMetadataReaderFactory(METADATA_READER_FACTORY);
+        scanner.setIncludeAnnotationConfig(false);
+        scanner.scan(componentsLocations.toArray(new String[0]));
+        Map<String, BeanDefinition> definitions = new LinkedHashMap<>();
+        for (String beanName : registry.getBeanDefinitionNames()) {
+            definitions.put(beanName, registry.getBeanDefinition(beanName));
+        }
+        return Collections.unmodifiableMap(definitions);
+    }
+
+    /**
+     * Makes configuration classes processing of a context use class metadata cache shared by all contexts
+     */
+    private void useSharedMetadataReaderFactory() {
+        String processorName = AnnotationConfigUtils.CONFIGURATION_ANNOTATION_PROCESSOR_BEAN_NAME;
+        if (applicationContext.containsBeanDefinition(processorName)) {
+            applicationContext.getBeanDefinition(processorName).getPropertyValues()
+                    .add("metadataReaderFactory", METADATA_READER_FACTORY);
+        }
+    }
+
+    private static CachingMetadataReaderFactory createMetadataReaderFactory() {
+        var factory = new CachingMetadataReaderFactory(ContextBuilder.class.getClassLoader());
+        factory.setCacheLimit(METADATA_CACHE_LIMIT);
+        return factory;
+    }
+
     private <T> void registerBean(Class<T> beanType, Class<? extends T> implementationClass, Class<? extends Annotation> qualifierClass, String beanName) {
         Preconditions.checkArgument(beanType != null, "Provided null bean type");
         Preconditions.checkArgument(implementationClass != null, "Provided null implementation class");
+        beanRegistrations.add(builder -> builder.registerBean(beanType, implementationClass, qualifierClass, beanName));
         try {
             T bean = implementationClass.newInstance();
             AnnotatedGenericBeanDefinition gbd = new AnnotatedGenericBeanDefinition(beanType);
@@ -0,0 +1,147 @@
+package com.github.mishaninss.arma.uidriver;
+
+import com.github.mishaninss.arma.uidriver.interfaces.ILocatable;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache of handles of found elements, e.g. web elements of a driver, keyed by locator paths of
+ * elements. Every handle is tagged with the document generation it was found in. The generation is
+ * incremented on navigation, frame and window switches, see
+ * {@link com.github.mishaninss.arma.aspects.PageDriverAspects}, so handles found in a previous
+ * document are never returned. Handles, which became stale within a document, are found again once
+ * by {@link #apply(ILocatable, Function, Function)}.
+ * <p>
+ * The cache is meant to be used by driver implementations. All handles in a context must be of the
+ * same type
+ */
+@Component
+public class ElementHandleCache {
+
+  private static final int MAX_SIZE = 1000;
+  private static final String STALE_EXCEPTION = "StaleElementReferenceException";
+
+  private final Cache<LocatorPath, Entry> entries = CacheBuilder.newBuilder()
+      .maximumSize(MAX_SIZE)
+      .build();
+  private final AtomicLong generation = new AtomicLong();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder staleRetries = new LongAdder();
+
+  /**
+   * Returns a cached handle of a given element, if it was found in the current document, or finds
+   * and caches a new one
+   *
+   * @param element - element to find
+   * @param finder  - function, which finds a handle of an element
+   */
+  @SuppressWarnings("unchecked")
+  public <H> H find(@NonNull ILocatable element,
+      @NonNull Function<? super ILocatable, ? extends H> finder) {
+    LocatorPath path = element.getLocatorPath();
+    long currentGeneration = generation.get();
+    Entry entry = entries.getIfPresent(path);
+    if (entry != null && entry.generation == currentGeneration) {
+      hits.increment();
+      return (H) entry.handle;
+    }
+    misses.increment();
+    H handle = finder.apply(element);
+    if (handle != null) {
+      entries.put(path, new Entry(handle, currentGeneration));
+    }
+    return handle;
+  }
+
+  /**
+   * Applies an action to a handle of a given element. If the handle is stale, the element is found
+   * again and the action is retried once
+   *
+   * @param element - element to find
+   * @param finder  - function, which finds a handle of an element
+   * @param action  - action to apply to a handle
+   */
+  public <H, R> R apply(@NonNull ILocatable element,
+      @NonNull Function<? super ILocatable, ? extends H> finder,
+      @NonNull Function<? super H, ? extends R> action) {
+    H handle = find(element, finder);
+    try {
+      return action.apply(handle);
+    } catch (RuntimeException ex) {
+      if (!isStale(ex)) {
+        throw ex;
+      }
+      staleRetries.increment();
+      invalidate(element);
+      return action.apply(find(element, finder));
+    }
+  }
+
+  /**
+   * Removes a handle of a given element from the cache
+   */
+  public void invalidate(@NonNull ILocatable element) {
+    entries.invalidate(element.getLocatorPath());
+  }
+
+  /**
+   * Starts a new document generation, so all cached handles are found again on next use
+   */
+  public void nextGeneration() {
+    generation.incrementAndGet();
+  }
+
+  public long getGeneration() {
+    return generation.get();
+  }
+
+  public long getHits() {
+    return hits.sum();
+  }
+
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  public long getStaleRetries() {
+    return staleRetries.sum();
+  }
+
+  /**
+   * Returns a ratio of lookups served from the cache
+   */
+  public double getHitRate() {
+    long hitCount = getHits();
+    long total = hitCount + getMisses();
+    return total > 0 ? (double) hitCount / total : 0;
+  }
+
+  /**
+   * Indicates if an exception means that a handle is not attached to the document anymore
+   */
+  protected boolean isStale(Throwable ex) {
+    for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+      if (STALE_EXCEPTION.equals(cause.getClass().getSimpleName())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static final class Entry {
+
+    private final Object handle;
+    private final long generation;
+
+    private Entry(Object handle, long generation) {
+      this.handle = handle;
+      this.generation = generation;
+    }
+  }
+}
@@ -0,0 +1,202 @@
+package com.github.mishaninss.arma.uidriver;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * Parsed locator: a type, an expression, an index and slots of a template. Parsed locators are
+ * interned, so a locator string is parsed once, and derived locators are built from parsed parts.
+ * {@link #toString()} returns the locator in the string form {@code [#index#][type=]expression},
+ * which is used by drivers.
+ * <p>
+ * Slots of a template are {@code %d} and {@code %s} placeholders. A template with other format
+ * specifiers is formatted by {@link String#format(String, Object...)}
+ */
+public final class Locator {
+
+  private static final Interner<Locator> INTERNER = Interners.newWeakInterner();
+  private static final Cache<String, Locator> PARSED = CacheBuilder.newBuilder()
+      .maximumSize(10_000)
+      .build();
+  private static final Set<String> TYPES = Set.of(LocatorType.ID, LocatorType.NAME,
+      LocatorType.XPATH, LocatorType.LINK, LocatorType.PARTIAL_LINK, LocatorType.TAG,
+      LocatorType.CSS, LocatorType.CLASS);
+  private static final String INDEX_MARK = "#";
+
+  private final String value;
+  private final String type;
+  private final String expression;
+  private final int index;
+  private final Locator base;
+  private final String[] segments;
+  private final int slots;
+
+  private Locator(String value, String type, String expression, int index, Locator base) {
+    this.value = value;
+    this.type = type;
+    this.expression = expression;
+    this.index = index;
+    this.base = base;
+    segments = splitTemplate(value);
+    slots = segments != null ? segments.length - 1 : StringUtils.countMatches(value, '%');
+  }
+
+  /**
+   * Returns a parsed locator of a given string
+   */
+  public static Locator parse(@Nullable String locator) {
+    if (locator == null) {
+      return null;
+    }
+    Locator parsed = PARSED.getIfPresent(locator);
+    if (parsed == null) {
+      parsed = INTERNER.intern(create(locator));
+      PARSED.put(locator, parsed);
+    }
+    return parsed;
+  }
+
+  private static Locator create(String locator) {
+    if (locator.startsWith(INDEX_MARK)) {
+      int end = locator.indexOf(INDEX_MARK, 1);
+      if (end > 1 && StringUtils.isNumeric(locator.substring(1, end))) {
+        Locator base = parse(locator.substring(end + 1));
+        return new Locator(locator, base.type, base.expression,
+            Integer.parseInt(locator.substring(1, end)), base);
+      }
+    }
+    String trimmed = locator.trim();
+    int separator = trimmed.indexOf('=');
+    if (separator > 0 && TYPES.contains(trimmed.substring(0, separator))) {
+      return new Locator(locator, trimmed.substring(0, separator),
+          trimmed.substring(separator + 1), 0, null);
+    }
+    return new Locator(locator, null, trimmed, 0, null);
+  }
+
+  /**
+   * Returns a type of this locator or null if a type is not specified
+   */
+  public @Nullable
+  String getType() {
+    return type;
+  }
+
+  /**
+   * Returns a locator without a type and an index
+   */
+  public @NonNull
+  String getExpression() {
+    return expression;
+  }
+
+  /**
+   * Returns an index of an indexed locator or 0 if this locator is not indexed
+   */
+  public int getIndex() {
+    return index;
+  }
+
+  /**
+   * Returns this locator without an index
+   */
+  public @NonNull
+  Locator getBase() {
+    return base != null ? base : this;
+  }
+
+  /**
+   * Returns a number of placeholders in this locator
+   */
+  public int getSlots() {
+    return slots;
+  }
+
+  public boolean isTemplate() {
+    return slots > 0;
+  }
+
+  /**
+   * Returns a locator with given values substituted into placeholders of this locator
+   */
+  public @NonNull
+  Locator format(Object... args) {
+    if (segments == null || args.length < slots) {
+      return create(String.format(value, args));
+    }
+    var sb = new StringBuilder(value.length() + slots * 4);
+    sb.append(segments[0]);
+    for (var i = 1; i < segments.length; i++) {
+      sb.append(args[i - 1]).append(segments[i]);
+    }
+    return create(sb.toString());
+  }
+
+  /**
+   * Returns a locator of an element with a given index. A template with {@code %d} placeholder is
+   * formatted with the index, other locators are marked with the index
+   */
+  public @NonNull
+  Locator withIndex(int index) {
+    if (value.contains("%d")) {
+      return format(index);
+    }
+    return new Locator(INDEX_MARK + index + INDEX_MARK + value, type, expression, index, this);
+  }
+
+  /**
+   * Splits a template into literal segments around %d and %s placeholders. Returns null, if the
+   * template contains other format specifiers
+   */
+  private static String[] splitTemplate(String template) {
+    if (template.indexOf('%') < 0) {
+      return new String[]{template};
+    }
+    List<String> segments = new ArrayList<>();
+    var start = 0;
+    var position = template.indexOf('%');
+    while (position >= 0) {
+      if (position + 1 >= template.length()) {
+        return null;
+      }
+      char conversion = template.charAt(position + 1);
+      if (conversion != 'd' && conversion != 's') {
+        return null;
+      }
+      segments.add(template.substring(start, position));
+      start = position + 2;
+      position = template.indexOf('%', start);
+    }
+    segments.add(template.substring(start));
+    return segments.toArray(new String[0]);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof Locator)) {
+      return false;
+    }
+    return value.equals(((Locator) o).value);
+  }
+
+  @Override
+  public int hashCode() {
+    return value.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return value;
+  }
+}
@@ -0,0 +1,236 @@
+package com.github.mishaninss.arma.uidriver;
+
+import com.github.mishaninss.arma.uidriver.interfaces.IFrame;
+import com.github.mishaninss.arma.uidriver.interfaces.ILocatable;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.text.StringEscapeUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Compiles a locators chain of an element into a single query, so a driver can find an element in
+ * nested contexts with one call instead of one call per context. The cheapest form, which keeps
+ * the semantics of the nested search, is chosen:
+ * <ul>
+ * <li>XPath chain, where inner locators are relative, is merged into one XPath expression. Every
+ * outer expression is limited to its first match, like a nested search does</li>
+ * <li>CSS chain, where all outer locators are IDs and inner locators are compound selectors, is
+ * merged into one CSS selector</li>
+ * <li>Other chains of css, xpath, id, name, class and tag locators are compiled into a script,
+ * which walks the chain in a browser and returns the element or null</li>
+ * </ul>
+ * Chains with frames, locator templates, link locators or locators without a type are not
+ * compiled. Such chains are logged once and can be obtained by {@link #getNotCompiled()}. Both
+ * compiled and rejected chains are kept in bounded caches
+ */
+@Component
+public class LocatorChainCompiler {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(LocatorChainCompiler.class);
+  private static final int MAX_SIZE = 1000;
+  private static final Pattern ID_VALUE = Pattern.compile("[A-Za-z][\\w-]*");
+  private static final Pattern ID_SELECTOR = Pattern.compile("#[A-Za-z][\\w-]*");
+  private static final Pattern QUOTED = Pattern.compile("'[^']*'|\"[^\"]*\"|\\[[^\\]]*]");
+  private static final Pattern COMBINATOR = Pattern.compile("[\\s>+~,]");
+  private static final String WALK_SCRIPT = ""
+      + "var steps = [%s]; var node = document;"
+      + "for (var i = 0; i < steps.length && node; i++) {"
+      + "  var type = steps[i][0], value = steps[i][1];"
+      + "  if (type === 'xpath') {"
+      + "    node = document.evaluate(value, node, null,"
+      + "      XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;"
+      + "  } else if (type === 'id') {"
+      + "    node = node.querySelector('#' + CSS.escape(value));"
+      + "  } else if (type === 'name') {"
+      + "    node = node.querySelector('[name=\"' + CSS.escape(value) + '\"]');"
+      + "  } else if (type === 'class') {"
+      + "    node = node.querySelector('.' + CSS.escape(value));"
+      + "  } else {"
+      + "    node = node.querySelector(value);"
+      + "  }"
+      + "}"
+      + "return node;";
+
+  private final Cache<List<String>, CompiledLocator> compiled = CacheBuilder.newBuilder()
+      .maximumSize(MAX_SIZE)
+      .build();
+  private final Cache<String, String> notCompiled = CacheBuilder.newBuilder()
+      .maximumSize(MAX_SIZE)
+      .build();
+
+  /**
+   * Compiles a locators chain of a given element
+   *
+   * @return compiled locator or null if the chain can't be compiled safely
+   */
+  public @Nullable
+  CompiledLocator compile(@NonNull ILocatable element) {
+    List<ILocatable> objects = element.getLocatorPath().getRealLocatableObjects();
+    List<String> locators = new ArrayList<>(objects.size());
+    for (ILocatable object : objects) {
+      if (object instanceof IFrame) {
+        return reject(element, "the chain contains a frame");
+      }
+      if (StringUtils.isNoneBlank(object.getLocator())) {
+        locators.add(object.getLocator().trim());
+      }
+    }
+    if (locators.isEmpty()) {
+      return reject(element, "the chain has no locators");
+    }
+    CompiledLocator locator = compiled.getIfPresent(locators);
+    if (locator == null) {
+      locator = compile(locators);
+      if (locator == null) {
+        return reject(element, "the chain contains unsupported locators");
+      }
+      compiled.put(locators, locator);
+    }
+    return locator;
+  }
+
+  /**
+   * Returns recent chains, which could not be compiled, with reasons
+   */
+  public @NonNull
+  Map<String, String> getNotCompiled() {
+    return Collections.unmodifiableMap(notCompiled.asMap());
+  }
+
+  private CompiledLocator reject(ILocatable element, String reason) {
+    String path = element.getLocatorsPath();
+    if (notCompiled.asMap().putIfAbsent(path, reason) == null) {
+      LOGGER.debug("Locators chain [{}] can't be compiled: {}", path, reason);
+    }
+    return null;
+  }
+
+  private static CompiledLocator compile(List<String> locators) {
+    List<String> types = new ArrayList<>(locators.size());
+    List<String> values = new ArrayList<>(locators.size());
+    for (String locator : locators) {
+      String type = StringUtils.substringBefore(locator, "=");
+      if (locator.indexOf('=') < 0 || !isSupportedType(type)
+          || locator.contains("%d") || locator.contains("%s")) {
+        return null;
+      }
+      types.add(type);
+      values.add(StringUtils.substringAfter(locator, "=").trim());
+    }
+    if (locators.size() == 1) {
+      return new CompiledLocator(CompiledLocator.Kind.LOCATOR, locators.get(0));
+    }
+    String xpath = compileXpath(types, values);
+    if (xpath != null) {
+      return new CompiledLocator(CompiledLocator.Kind.LOCATOR, LocatorType.buildXpath(xpath));
+    }
+    String css = compileCss(types, values);
+    if (css != null) {
+      return new CompiledLocator(CompiledLocator.Kind.LOCATOR, LocatorType.buildCss(css));
+    }
+    return new CompiledLocator(CompiledLocator.Kind.SCRIPT, compileScript(types, values));
+  }
+
+  private static boolean isSupportedType(String type) {
+    return StringUtils.equalsAny(type, LocatorType.XPATH, LocatorType.CSS, LocatorType.ID,
+        LocatorType.NAME, LocatorType.CLASS, LocatorType.TAG);
+  }
+
+  private static String compileXpath(List<String> types, List<String> values) {
+    if (!types.stream().allMatch(LocatorType.XPATH::equals)) {
+      return null;
+    }
+    String xpath = values.get(0);
+    for (var i = 1; i < values.size(); i++) {
+      String value = values.get(i);
+      if (!value.startsWith("./")) {
+        return null;
+      }
+      xpath = "(" + xpath + ")[1]" + value.substring(1);
+    }
+    return xpath;
+  }
+
+  private static String compileCss(List<String> types, List<String> values) {
+    List<String> selectors = new ArrayList<>(values.size());
+    int last = values.size() - 1;
+    for (var i = 0; i <= last; i++) {
+      String type = types.get(i);
+      String value = values.get(i);
+      if (LocatorType.ID.equals(type) && ID_VALUE.matcher(value).matches()) {
+        selectors.add("#" + value);
+      } else if (i == last && LocatorType.CSS.equals(type) && isCompoundSelector(value)) {
+        selectors.add(value);
+      } else if (LocatorType.CSS.equals(type) && ID_SELECTOR.matcher(value).matches()) {
+        selectors.add(value);
+      } else {
+        return null;
+      }
+    }
+    return String.join(" ", selectors);
+  }
+
+  private static boolean isCompoundSelector(String selector) {
+    return !COMBINATOR.matcher(QUOTED.matcher(selector).replaceAll("")).find();
+  }
+
+  private static String compileScript(List<String> types, List<String> values) {
+    List<String> steps = new ArrayList<>(types.size());
+    for (var i = 0; i < types.size(); i++) {
+      steps.add("['" + types.get(i) + "','" + StringEscapeUtils.escapeEcmaScript(values.get(i))
+          + "']");
+    }
+    return String.format(WALK_SCRIPT, String.join(",", steps));
+  }
+
+  /**
+   * Single query form of a locators chain
+   */
+  public static final class CompiledLocator {
+
+    /**
+     * Kind of a compiled locator
+     */
+    public enum Kind {
+      /**
+       * A typed locator, which can be searched from the document root
+       */
+      LOCATOR,
+      /**
+       * A script, which returns the element or null
+       */
+      SCRIPT
+    }
+
+    private final Kind kind;
+    private final String value;
+
+    private CompiledLocator(Kind kind, String value) {
+      this.kind = kind;
+      this.value = value;
+    }
+
+    public Kind getKind() {
+      return kind;
+    }
+
+    public String getValue() {
+      return value;
+    }
+
+    @Override
+    public String toString() {
+      return kind + ": " + value;
+    }
+  }
+}
@@ -0,0 +1,178 @@
+package com.github.mishaninss.arma.uidriver;
+
+import com.github.mishaninss.arma.uidriver.interfaces.ILocatable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.lang.NonNull;
+
+/**
+ * Immutable snapshot of a locators chain of an {@link ILocatable}: the element with all its
+ * contexts, their locators and the contexts, which are used to locate the element. Items are
+ * ordered from the outermost context to the element itself. Paths are equal if their locators are
+ * equal.
+ * <p>
+ * A path can be cached by an element while it is valid. A path keeps
+ * {@link ILocatable#getModificationCount() modification counts} of the element and its contexts and
+ * is valid while none of them has changed, so a change of one element doesn't invalidate paths of
+ * unrelated elements. Paths, which contain elements without modification counts, e.g. custom
+ * implementations of {@link ILocatable}, are never valid
+ */
+public final class LocatorPath {
+
+  private static final String SEPARATOR = " -> ";
+
+  private final List<ILocatable> objects;
+  private final List<ILocatable> realLocatableObjects;
+  private final List<String> locators;
+  private final int[] modificationCounts;
+  private final int hashCode;
+
+  private LocatorPath(List<ILocatable> objects, List<ILocatable> realLocatableObjects,
+      List<String> locators, int[] modificationCounts) {
+    this.objects = objects;
+    this.realLocatableObjects = realLocatableObjects;
+    this.locators = locators;
+    this.modificationCounts = modificationCounts;
+    hashCode = locators.hashCode();
+  }
+
+  /**
+   * Builds a path of a given element
+   */
+  public static @NonNull
+  LocatorPath of(@NonNull ILocatable locatable) {
+    List<ILocatable> chain = new ArrayList<>();
+    ILocatable current = locatable;
+    while (current != null) {
+      chain.add(current);
+      current = current.getContext();
+    }
+    Collections.reverse(chain);
+
+    int[] modificationCounts = new int[chain.size()];
+    var tracked = true;
+    for (var i = 0; i < modificationCounts.length && tracked; i++) {
+      modificationCounts[i] = chain.get(i).getModificationCount();
+      tracked = modificationCounts[i] >= 0;
+    }
+
+    List<String> locators = new ArrayList<>(chain.size());
+    for (ILocatable object : chain) {
+      String locator = object.getLocator();
+      if (StringUtils.isNoneBlank(locator)) {
+        locators.add(locator);
+      }
+    }
+
+    Deque<ILocatable> real = new ArrayDeque<>();
+    real.push(locatable);
+    if (locatable.useContextLookup()) {
+      for (var i = chain.size() - 2; i >= 0; i--) {
+        ILocatable context = chain.get(i);
+        if (StringUtils.isNoneBlank(context.getLocator())) {
+          real.push(context);
+        }
+        if (!context.useContextLookup()) {
+          break;
+        }
+      }
+    }
+
+    return new LocatorPath(Collections.unmodifiableList(chain),
+        Collections.unmodifiableList(new ArrayList<>(real)),
+        Collections.unmodifiableList(locators), tracked ? modificationCounts : null);
+  }
+
+  /**
+   * Indicates if this path still reflects the current state of its elements: neither the element
+   * nor any of its contexts has changed since the path was built
+   */
+  public boolean isValid() {
+    if (modificationCounts == null) {
+      return false;
+    }
+    for (var i = 0; i < modificationCounts.length; i++) {
+      if (objects.get(i).getModificationCount() != modificationCounts[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the element and all its contexts
+   */
+  public @NonNull
+  List<ILocatable> getObjects() {
+    return objects;
+  }
+
+  /**
+   * Returns the element and its contexts with locators, which are used to locate the element
+   */
+  public @NonNull
+  List<ILocatable> getRealLocatableObjects() {
+    return realLocatableObjects;
+  }
+
+  /**
+   * Returns non-blank locators of the element and all its contexts
+   */
+  public @NonNull
+  List<String> getLocators() {
+    return locators;
+  }
+
+  /**
+   * Returns a new mutable deque of the element and all its contexts, the outermost context first
+   */
+  public @NonNull
+  Deque<ILocatable> toObjectDeque() {
+    return new ArrayDeque<>(objects);
+  }
+
+  /**
+   * Returns a new mutable deque of the element and its contexts, which are used to locate the
+   * element, the outermost context first
+   */
+  public @NonNull
+  Deque<ILocatable> toRealLocatableObjectDeque() {
+    return new ArrayDeque<>(realLocatableObjects);
+  }
+
+  /**
+   * Returns a new mutable deque of locators, the locator of the element first
+   */
+  public @NonNull
+  Deque<String> toLocatorDeque() {
+    Deque<String> deque = new ArrayDeque<>(locators.size());
+    locators.forEach(deque::push);
+    return deque;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof LocatorPath)) {
+      return false;
+    }
+    LocatorPath that = (LocatorPath) o;
+    return hashCode == that.hashCode && locators.equals(that.locators);
+  }
+
+  @Override
+  public int hashCode() {
+    return hashCode;
+  }
+
+  @Override
+  public String toString() {
+    return String.join(SEPARATOR, locators);
+  }
+}
@@ -16,9 +16,18 @@
 
 package com.github.mishaninss.arma.uidriver;
 
+import com.github.mishaninss.arma.data.UiCommonsProperties;
 import com.github.mishaninss.arma.exceptions.ContainerInitException;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 import org.slf4j.Logger;
@@ -32,6 +41,13 @@ public final class LocatorType {
   private static final Logger LOGGER = LoggerFactory.getLogger(LocatorType.class);
   private static final Pattern ARG_LOCATOR_PATTERN = Pattern.compile(
       "(\\s*)(.+[^\\s])(\\s*)(=)(\\s*)(['\"]?)(\\s*)(.+[^'\"\\s])(\\s*)(['\"]?)");
+  private static final ThreadLocal<XPath> XPATH_COMPILERS = ThreadLocal
+      .withInitial(() -> XPathFactory.newInstance().newXPath());
+  private static final Cache<String, Boolean> VALIDATED_XPATHS = CacheBuilder.newBuilder()
+      .maximumSize(10_000)
+      .build();
+  private static final Set<String> INVALID_XPATHS = ConcurrentHashMap.newKeySet();
+  private static ExecutorService validator;
 
   public static final String ID = "id";
   public static final String NAME = "name";
@@ -42,6 +58,24 @@ public final class LocatorType {
   public static final String CSS = "css";
   public static final String CLASS = "class";
 
+  /**
+   * Modes of validation of XPath locators
+   */
+  public enum XpathValidation {
+    /**
+     * Every distinct locator is validated once on the calling thread
+     */
+    CACHED,
+    /**
+     * Every distinct locator is validated once on a background thread
+     */
+    ASYNC,
+    /**
+     * Locators are not validated
+     */
+    OFF
+  }
+
   /**
    * Hidden constructor
    */
@@ -49,12 +83,66 @@ public final class LocatorType {
   }
 
   public static String buildXpath(String locator) {
+    if (locator != null) {
+      validateXpath(locator, getXpathValidation());
+    }
+    return buildLocator(locator, XPATH);
+  }
+
+  /**
+   * Builds an XPath locator from a template with %d and %s placeholders. Only the template is
+   * validated, not every formatted locator, so a template is validated once for all its arguments
+   */
+  public static String buildXpath(String template, Object... args) {
+    if (template == null) {
+      return null;
+    }
+    validateXpath(template, getXpathValidation());
+    return buildLocator(String.format(template, args), XPATH);
+  }
+
+  /**
+   * Returns XPath locators, which were found invalid
+   */
+  public static Set<String> getInvalidXpaths() {
+    return Collections.unmodifiableSet(INVALID_XPATHS);
+  }
+
+  static void validateXpath(String locator, XpathValidation mode) {
+    if (mode == XpathValidation.OFF || VALIDATED_XPATHS.getIfPresent(locator) != null) {
+      return;
+    }
+    VALIDATED_XPATHS.put(locator, Boolean.TRUE);
+    if (mode == XpathValidation.ASYNC) {
+      getValidator().execute(() -> compileXpath(locator));
+    } else {
+      compileXpath(locator);
+    }
+  }
+
+  private static void compileXpath(String locator) {
     try {
-      XPathFactory.newInstance().newXPath().compile(locator.replace("%d", "1"));
+      XPATH_COMPILERS.get().compile(locator.replace("%d", "1").replace("%s", "x"));
     } catch (XPathExpressionException ex) {
+      INVALID_XPATHS.add(locator);
       LOGGER.warn("Invalid XPath locator provided: {}", locator);
     }
-    return buildLocator(locator, XPATH);
+  }
+
+  private static XpathValidation getXpathValidation() {
+    UiCommonsProperties properties = UiCommonsProperties.get();
+    return properties != null ? properties.framework().xpathValidation : XpathValidation.CACHED;
+  }
+
+  private static synchronized ExecutorService getValidator() {
+    if (validator == null) {
+      validator = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "arma-xpath-validator");
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+    return validator;
   }
 
   public static String buildCss(String locator) {
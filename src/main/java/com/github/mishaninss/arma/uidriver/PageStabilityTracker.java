@@ -0,0 +1,113 @@
+package com.github.mishaninss.arma.uidriver;
+
+import com.github.mishaninss.arma.data.UiCommonsProperties;
+import com.github.mishaninss.arma.exceptions.SessionLostException;
+import com.github.mishaninss.arma.html.listeners.BrowserConsoleLoggingEventHandler;
+import com.github.mishaninss.arma.uidriver.annotations.PageDriver;
+import com.github.mishaninss.arma.uidriver.annotations.WaitingDriver;
+import com.github.mishaninss.arma.uidriver.interfaces.IPageDriver;
+import com.github.mishaninss.arma.uidriver.interfaces.IWaitingDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Skips redundant waits for a page update. The tracker installs a mutation observer and a counter
+ * of active XHR and fetch requests into a page, which increment a monotonic epoch of the page on
+ * every change. After a full wait the epoch is remembered as stable, and the next wait returns
+ * immediately if neither the document nor the network has changed since then.
+ * <p>
+ * Tracking is disabled by default, see {@link UiCommonsProperties.Framework#PAGE_STABILITY_TRACKING}.
+ * When it is disabled or a page state can't be read, every wait is delegated to
+ * {@link IWaitingDriver#waitForPageUpdate()}. Messages buffered by
+ * {@link BrowserConsoleLoggingEventHandler} are sent along with the state script
+ */
+@Component
+public class PageStabilityTracker {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(PageStabilityTracker.class);
+
+  /**
+   * Installs the tracker into the current document if needed and returns a state of the document
+   * as "id:epoch". Returns null if the tracker was just installed, the document is not loaded or
+   * there are active requests
+   */
+  private static final String STATE_SCRIPT = ""
+      + "var s = window.__armaStability;"
+      + "if (!s) {"
+      + "  s = window.__armaStability = {id: Math.random().toString(36).slice(2), epoch: 0, pending: 0};"
+      + "  var changed = function() { s.epoch++; };"
+      + "  var started = function() { s.pending++; s.epoch++; };"
+      + "  var finished = function() { s.pending--; s.epoch++; };"
+      + "  new MutationObserver(changed).observe(document,"
+      + "    {subtree: true, childList: true, attributes: true, characterData: true});"
+      + "  var send = XMLHttpRequest.prototype.send;"
+      + "  XMLHttpRequest.prototype.send = function() {"
+      + "    started(); this.addEventListener('loadend', finished);"
+      + "    return send.apply(this, arguments);"
+      + "  };"
+      + "  if (window.fetch) {"
+      + "    var fetch = window.fetch;"
+      + "    window.fetch = function() {"
+      + "      started(); var result = fetch.apply(this, arguments);"
+      + "      result.then(finished, finished); return result;"
+      + "    };"
+      + "  }"
+      + "  return null;"
+      + "}"
+      + "if (s.pending > 0 || document.readyState !== 'complete') { return null; }"
+      + "return s.id + ':' + s.epoch;";
+
+  @PageDriver
+  private IPageDriver pageDriver;
+  @WaitingDriver
+  private IWaitingDriver waitingDriver;
+  @Autowired
+  private UiCommonsProperties properties;
+  @Autowired
+  private BrowserConsoleLoggingEventHandler browserConsoleLoggingEventHandler;
+
+  private volatile String stableState;
+
+  /**
+   * Waits for a page update, unless the page has not changed since the last full wait
+   */
+  public void waitForPageUpdate() {
+    if (!isEnabled()) {
+      waitingDriver.waitForPageUpdate();
+      return;
+    }
+    String state = readState();
+    if (state != null && state.equals(stableState)) {
+      return;
+    }
+    stableState = null;
+    waitingDriver.waitForPageUpdate();
+    stableState = readState();
+  }
+
+  /**
+   * Forgets the last stable state, so the next wait is a full one
+   */
+  public void invalidate() {
+    stableState = null;
+  }
+
+  public boolean isEnabled() {
+    return properties.framework().pageStabilityTracking;
+  }
+
+  private String readState() {
+    try {
+      Object state = pageDriver
+          .executeJS(browserConsoleLoggingEventHandler.drainScript() + STATE_SCRIPT);
+      return state != null ? state.toString() : null;
+    } catch (SessionLostException ex) {
+      throw ex;
+    } catch (Exception ex) {
+      LOGGER.trace("Could not read a page state", ex);
+      return null;
+    }
+  }
+}
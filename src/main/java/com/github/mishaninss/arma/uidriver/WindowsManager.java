@@ -1,5 +1,6 @@
 package com.github.mishaninss.arma.uidriver;
 
+import com.github.mishaninss.arma.data.UiCommonsProperties;
 import com.github.mishaninss.arma.reporting.IReporter;
 import com.github.mishaninss.arma.reporting.Reporter;
 import com.github.mishaninss.arma.uidriver.annotations.BrowserDriver;
@@ -11,6 +12,8 @@ import java.util.Deque;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -23,12 +26,32 @@ public class WindowsManager {
   private final Deque<String> windowHandles = new LinkedList<>();
   @Reporter
   private IReporter reporter;
+  @Autowired
+  private PageStabilityTracker pageStabilityTracker;
+  @Autowired
+  private UiCommonsProperties properties;
+
+  /**
+   * Indicates that window handles must be checked regardless of the poll interval
+   */
+  private boolean dirty;
+  private long lastRefreshTime;
 
   public void clear() {
     windowHandles.clear();
   }
 
+  /**
+   * Reports that an action, which can open or close a window, was performed. Window handles are
+   * checked once on the next call of {@link #ensureLastWindowIfChanged()}, right after the action.
+   * Windows, which are opened asynchronously later, are found by the poll interval
+   */
+  public void markDirty() {
+    dirty = true;
+  }
+
   public int refreshWindowHandles() {
+    lastRefreshTime = System.nanoTime();
     if (windowHandles.isEmpty()) {
       windowHandles.addAll(browserDriver.getWindowHandles());
       return windowHandles.size();
@@ -74,6 +97,7 @@ public class WindowsManager {
   private void switchToLastWindowWithoutCheck() {
     reporter.trace("switch to %s", windowHandles.peek());
     browserDriver.switchToWindow(windowHandles.peek());
+    pageStabilityTracker.invalidate();
     waitingDriver.waitForPageUpdate();
   }
 
@@ -82,4 +106,25 @@ public class WindowsManager {
       switchToLastWindowWithoutCheck();
     }
   }
+
+  /**
+   * Switches to the last opened window if windows could have been changed since the last check.
+   * Window handles are requested only if {@link #markDirty()} was called, nothing is known about
+   * windows yet or the poll interval {@link UiCommonsProperties.Framework#WINDOWS_POLL_INTERVAL}
+   * has elapsed
+   */
+  public void ensureLastWindowIfChanged() {
+    if (dirty) {
+      dirty = false;
+      ensureLastWindow();
+    } else if (windowHandles.isEmpty() || isPollIntervalElapsed()) {
+      ensureLastWindow();
+    }
+  }
+
+  private boolean isPollIntervalElapsed() {
+    long pollInterval = properties.framework().windowsPollInterval;
+    return pollInterval >= 0
+        && System.nanoTime() - lastRefreshTime >= TimeUnit.MILLISECONDS.toNanos(pollInterval);
+  }
 }
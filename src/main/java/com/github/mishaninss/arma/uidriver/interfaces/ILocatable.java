@@ -16,11 +16,9 @@
 
 package com.github.mishaninss.arma.uidriver.interfaces;
 
-import org.apache.commons.lang3.StringUtils;
+import com.github.mishaninss.arma.uidriver.LocatorPath;
 
-import java.util.ArrayDeque;
 import java.util.Deque;
-import java.util.Iterator;
 
 /**
  * Provides common interface for an abstract UI element
@@ -28,61 +26,37 @@ import java.util.Iterator;
   */
 public interface ILocatable{
 
+    /**
+     * Returns an immutable path of this element. Implementations may cache the path while it is
+     * {@link LocatorPath#isValid() valid}
+     */
+    default LocatorPath getLocatorPath(){
+        return LocatorPath.of(this);
+    }
+
+    /**
+     * Returns a number of changes of the locator, the context and the context lookup mode of this
+     * element, or a negative number if changes of this element are not tracked. Paths, which contain
+     * untracked elements, are never cached
+     */
+    default int getModificationCount(){
+        return -1;
+    }
+
     default Deque<String> getLocatorDeque(){
-        Deque<ILocatable> cascade = getObjectDeque();
-        Deque<String> path = new ArrayDeque<>();
-        cascade.forEach(element ->
-        {
-            String locator = element.getLocator();
-            if (StringUtils.isNoneBlank(locator)){
-                path.push(locator);
-            }
-        });
-        return path;
+        return getLocatorPath().toLocatorDeque();
     }
 
     default String getLocatorsPath(){
-        Deque<String> path = getLocatorDeque();
-        StringBuilder sb = new StringBuilder();
-        if (!path.isEmpty()) {
-            Iterator<String> iterator = path.descendingIterator();
-            sb.append(iterator.next());
-            while (iterator.hasNext()) {
-                sb.append(" -> ").append(iterator.next());
-            }
-        }
-        return sb.toString();
+        return getLocatorPath().toString();
     }
 
     default Deque<ILocatable> getObjectDeque(){
-        Deque<ILocatable> path = new ArrayDeque<>();
-        path.push(this);
-        ILocatable context = this.getContext();
-        while (context != null){
-            path.push(context);
-            context = context.getContext();
-        }
-        return path;
+        return getLocatorPath().toObjectDeque();
     }
 
     default Deque<ILocatable> getRealLocatableObjectDeque(){
-        Deque<ILocatable> path = new ArrayDeque<>();
-        path.push(this);
-        if (useContextLookup()) {
-            ILocatable context = this.getContext();
-            while (context != null) {
-                if (StringUtils.isNoneBlank(context.getLocator())) {
-                    path.push(context);
-                }
-                if (context.useContextLookup()) {
-                    context = context.getContext();
-                } else {
-                    break;
-                }
-
-            }
-        }
-        return path;
+        return getLocatorPath().toRealLocatableObjectDeque();
     }
     
     /**
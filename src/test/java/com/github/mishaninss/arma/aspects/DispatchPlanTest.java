@@ -0,0 +1,81 @@
+package com.github.mishaninss.arma.aspects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.github.mishaninss.arma.aspects.InteractiveElementAspects.DispatchPlan;
+import com.github.mishaninss.arma.html.listeners.ElementEvent;
+import com.github.mishaninss.arma.html.listeners.FiresEvent;
+import java.lang.reflect.Modifier;
+import org.aspectj.lang.Signature;
+import org.aspectj.runtime.reflect.Factory;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Dispatch plans of event firing methods are resolved once per call site and describe a call the
+ * same way as the annotation of a method does
+ */
+class DispatchPlanTest {
+
+  private final Factory factory = new Factory("DispatchPlanTest.java", Target.class);
+
+  @Test
+  void planIsCachedPerSignature() {
+    Signature signature = signature("pressEnterKey");
+
+    assertSame(InteractiveElementAspects.getDispatchPlan(signature),
+        InteractiveElementAspects.getDispatchPlan(signature));
+  }
+
+  @Test
+  void descriptionIsBuiltFromMethodName() {
+    DispatchPlan plan = InteractiveElementAspects.getDispatchPlan(signature("pressEnterKey"));
+
+    assertEquals(ElementEvent.ACTION, plan.event);
+    assertEquals("press enter key", plan.getDescription(new Object[0]).get());
+  }
+
+  @Test
+  void descriptionWithoutArgumentsIsShared() {
+    DispatchPlan plan = InteractiveElementAspects.getDispatchPlan(signature("submit"));
+
+    assertEquals("отправить форму", plan.getDescription(new Object[]{"a"}).get());
+    assertSame(plan.getDescription(new Object[]{"a"}), plan.getDescription(new Object[]{"b"}));
+  }
+
+  @Test
+  void descriptionWithArgumentsIsFormattedPerCall() {
+    DispatchPlan plan = InteractiveElementAspects
+        .getDispatchPlan(signature("changeValue", String.class));
+
+    assertEquals(ElementEvent.CHANGE_VALUE, plan.event);
+    assertEquals("ввести abc", plan.getDescription(new Object[]{"abc"}).get());
+    assertNotSame(plan.getDescription(new Object[]{"abc"}),
+        plan.getDescription(new Object[]{"abc"}));
+  }
+
+  private Signature signature(String name, Class<?>... parameterTypes) {
+    String[] parameterNames = new String[parameterTypes.length];
+    for (int i = 0; i < parameterNames.length; i++) {
+      parameterNames[i] = "arg" + i;
+    }
+    return factory.makeMethodSig(Modifier.PUBLIC, name, Target.class, parameterTypes,
+        parameterNames, new Class<?>[0], void.class);
+  }
+
+  static class Target {
+
+    @FiresEvent(ElementEvent.ACTION)
+    public void pressEnterKey() {
+    }
+
+    @FiresEvent(value = ElementEvent.ACTION, message = "отправить форму")
+    public void submit() {
+    }
+
+    @FiresEvent(value = ElementEvent.CHANGE_VALUE, message = "ввести ${1}")
+    public void changeValue(String value) {
+    }
+  }
+}
@@ -0,0 +1,87 @@
+package com.github.mishaninss.arma.html.containers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.mishaninss.arma.html.elements.interfaces.IReadable;
+import com.github.mishaninss.arma.html.interfaces.IInteractiveElement;
+import com.github.mishaninss.arma.html.interfaces.IListenableElement;
+import com.github.mishaninss.arma.html.listeners.ActionDescription;
+import com.github.mishaninss.arma.html.listeners.ElementEvent;
+import com.github.mishaninss.arma.html.listeners.IElementEventHandler;
+import com.github.mishaninss.arma.metrics.ArmaMetrics;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Reading of an optional element, which fails, must still notify listeners of the element and must
+ * be counted as an avoided capture of failure artifacts
+ */
+class ArmaContainerQuietReadTest {
+
+  private final ArmaMetrics metrics = new ArmaMetrics();
+  private final List<ElementEvent> events = new ArrayList<>();
+
+  @BeforeEach
+  void bindMetrics() {
+    metrics.bindToCurrentThread();
+  }
+
+  @AfterEach
+  void unbindMetrics() {
+    ArmaMetrics.unbindFromCurrentThread();
+  }
+
+  @Test
+  void failedReadOfOptionalElementFiresListenersAndIsCounted() {
+    ArmaContainer container = new ArmaContainer();
+    container.addElement("field", failingOptionalElement(new RecordingHandler()));
+
+    Map<String, String> values = container.readValues();
+
+    assertTrue(values.isEmpty());
+    assertTrue(events.contains(ElementEvent.READ_VALUE));
+    assertEquals(1, metrics.getAvoidedCaptures());
+  }
+
+  private static IInteractiveElement failingOptionalElement(IElementEventHandler listener) {
+    IElementEventHandler[] listeners = {listener};
+    return (IInteractiveElement) Proxy.newProxyInstance(
+        ArmaContainerQuietReadTest.class.getClassLoader(),
+        new Class<?>[]{IInteractiveElement.class, IListenableElement.class, IReadable.class},
+        (proxy, method, args) -> {
+          switch (method.getName()) {
+            case "readValue":
+              throw new IllegalStateException("Element is not found");
+            case "isOptional":
+            case "isDisplayed":
+              return true;
+            case "getEventListenersArray":
+            case "getReversedEventListenersArray":
+              return args[0] == ElementEvent.READ_VALUE ? listeners : new IElementEventHandler[0];
+            case "toString":
+              return "field";
+            case "hashCode":
+              return System.identityHashCode(proxy);
+            case "equals":
+              return proxy == args[0];
+            default:
+              return method.getReturnType() == boolean.class ? Boolean.FALSE : null;
+          }
+        });
+  }
+
+  private class RecordingHandler implements IElementEventHandler {
+
+    @Override
+    public void beforeEvent(IInteractiveElement element, ElementEvent event,
+        ActionDescription action, Object... args) {
+      events.add(event);
+    }
+  }
+}
@@ -0,0 +1,92 @@
+package com.github.mishaninss.arma.html.containers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.mishaninss.arma.html.containers.annotations.Container;
+import com.github.mishaninss.arma.html.elements.ArmaElement;
+import com.github.mishaninss.arma.html.listeners.ElementEvent;
+import com.github.mishaninss.arma.html.listeners.IElementEventHandler;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Copying of initialized containers by {@link ContainersFactory#cloneContainer}: which containers
+ * are copied and which state a copy takes from a template
+ */
+class ContainerCopyTest {
+
+  @Test
+  void plainContainersAreCopyable() {
+    assertTrue(ContainersFactory.isCopyable(Row.class));
+    assertTrue(ContainersFactory.isCopyable(IndexedContainer.class));
+  }
+
+  @Test
+  void containersWithCustomInitializationAreNotCopyable() {
+    assertFalse(ContainersFactory.isCopyable(RowWithContainer.class));
+    assertFalse(ContainersFactory.isCopyable(CustomRow.class));
+    assertFalse(ContainersFactory.isCopyable(ArmaElement.class));
+  }
+
+  @Test
+  void containerCopyTakesSpecDerivedState() {
+    Row context = new Row();
+    Row template = new Row();
+    template.setName("row");
+    template.setLocator("css=.row");
+    template.setContextLookup(false);
+    template.setContext(context);
+    template.setUrl("/rows");
+    Row copy = new Row();
+
+    ContainersFactory.copyContainerState(template, copy);
+
+    assertEquals("row", copy.getName());
+    assertEquals("css=.row", copy.getLocator());
+    assertFalse(copy.useContextLookup());
+    assertSame(context, copy.context);
+    assertEquals("/rows", copy.getUrl());
+  }
+
+  @Test
+  void elementCopyTakesSpecDerivedStateAndSharesListeners() {
+    ArmaElement template = new ArmaElement("css=.cell");
+    template.setName("cell");
+    template.setOptional(true);
+    template.setContextLookup(false);
+    template.setContext(new Row());
+    template.addEventListener(ElementEvent.ACTION, new IElementEventHandler() {
+    });
+    ArmaElement copy = new ArmaElement();
+
+    ContainersFactory.copyElementState(template, copy);
+
+    assertEquals("css=.cell", copy.getLocator());
+    assertEquals("cell", copy.getName());
+    assertTrue(copy.isOptional());
+    assertFalse(copy.useContextLookup());
+    assertSame(template.getListenerChain(), copy.getListenerChain());
+    assertNull(copy.getContext());
+  }
+
+  static class Row extends ArmaContainer {
+
+  }
+
+  static class RowWithContainer extends ArmaContainer {
+
+    @Container
+    private Row inner;
+  }
+
+  static class CustomRow extends ArmaContainer {
+
+    @Override
+    public void afterPropertiesSet() {
+      super.afterPropertiesSet();
+    }
+  }
+}
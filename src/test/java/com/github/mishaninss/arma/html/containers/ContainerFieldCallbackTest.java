@@ -0,0 +1,154 @@
+package com.github.mishaninss.arma.html.containers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.github.mishaninss.arma.html.containers.annotations.Container;
+import com.github.mishaninss.arma.metrics.ArmaMetrics;
+import com.github.mishaninss.arma.uidriver.interfaces.ILocatable;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.GenericApplicationContext;
+
+/**
+ * Registration of a shared container prototype by concurrent and reentering callbacks
+ */
+class ContainerFieldCallbackTest {
+
+  private static final int THREADS = 16;
+
+  private final GenericApplicationContext context = new GenericApplicationContext();
+  private final Map<String, ContainerFieldCallback.Registration> registrations =
+      new ConcurrentHashMap<>();
+  private final ArmaMetrics metrics = new ArmaMetrics();
+
+  @AfterEach
+  void closeContext() {
+    context.close();
+  }
+
+  @Test
+  void prototypeIsRegisteredOnceByConcurrentCallbacks() throws Exception {
+    context.refresh();
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      CountDownLatch start = new CountDownLatch(1);
+      List<Future<Page>> futures = new ArrayList<>();
+      for (int i = 0; i < THREADS; i++) {
+        futures.add(executor.submit(() -> {
+          Page page = new Page();
+          start.await();
+          callback(page).doWith(containerField());
+          return page;
+        }));
+      }
+      start.countDown();
+
+      List<Page> pages = new ArrayList<>();
+      for (Future<Page> future : futures) {
+        pages.add(future.get(10, TimeUnit.SECONDS));
+      }
+      Object registered = context.getBeanFactory().getSingleton("proto_shared");
+      assertNotNull(registered);
+      int registeredInstances = 0;
+      for (Page page : pages) {
+        assertNotNull(page.section);
+        if (page.section == registered) {
+          registeredInstances++;
+        }
+      }
+      assertEquals(1, registeredInstances);
+      assertEquals(1, registrations.size());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void reenteringThreadKeepsFieldIfPrototypeIsNotRegisteredYet() throws Exception {
+    context.refresh();
+    registrations.put("shared", new ContainerFieldCallback.Registration());
+    Page page = new Page();
+    Section section = page.section;
+
+    callback(page).doWith(containerField());
+
+    assertSame(section, page.section);
+  }
+
+  @Test
+  void laterCallbackGetsNewPrototypeInstance() throws Exception {
+    context.refresh();
+    Page first = new Page();
+    callback(first).doWith(containerField());
+    Page second = new Page();
+
+    callback(second).doWith(containerField());
+
+    assertNotNull(second.section);
+    assertNotSame(first.section, second.section);
+  }
+
+  private ContainerFieldCallback callback(Page page) {
+    return new ContainerFieldCallback(page, context, "page", registrations, () -> metrics);
+  }
+
+  private static Field containerField() throws NoSuchFieldException {
+    return Page.class.getDeclaredField("section");
+  }
+
+  public static class Page {
+
+    @Container(value = "shared", locator = "css=.section")
+    private Section section = new Section();
+  }
+
+  public static class Section implements ILocatable {
+
+    private String locator;
+    private ILocatable context;
+    private boolean contextLookup = true;
+
+    @Override
+    public String getLocator() {
+      return locator;
+    }
+
+    @Override
+    public void setLocator(String locator) {
+      this.locator = locator;
+    }
+
+    @Override
+    public ILocatable getContext() {
+      return context;
+    }
+
+    @Override
+    public void setContext(ILocatable context) {
+      this.context = context;
+    }
+
+    @Override
+    public void setContextLookup(boolean contextLookup) {
+      this.contextLookup = contextLookup;
+    }
+
+    @Override
+    public boolean useContextLookup() {
+      return contextLookup;
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package com.github.mishaninss.arma.html.listeners;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import org.junit.jupiter.api.Test;
+
+class ListenerChainTest {
+
+  private final IElementEventHandler first = new IElementEventHandler() {
+  };
+  private final IElementEventHandler second = new IElementEventHandler() {
+  };
+
+  @Test
+  void returnedSetCannotBeModified() {
+    LinkedHashSet<IElementEventHandler> listeners = chain().toSet(ElementEvent.ACTION);
+
+    assertThrows(UnsupportedOperationException.class, () -> listeners.add(second));
+    assertThrows(UnsupportedOperationException.class, () -> listeners.remove(first));
+    assertThrows(UnsupportedOperationException.class, listeners::clear);
+    Iterator<IElementEventHandler> iterator = listeners.iterator();
+    iterator.next();
+    assertThrows(UnsupportedOperationException.class, iterator::remove);
+  }
+
+  @Test
+  void returnedMapCannotBeModified() {
+    assertThrows(UnsupportedOperationException.class,
+        () -> chain().toMap().remove(ElementEvent.ACTION));
+  }
+
+  @Test
+  void listenerIsRemoved() {
+    ListenerChain chain = chain().with(ElementEvent.ACTION, second);
+
+    assertArrayEquals(new IElementEventHandler[]{second},
+        chain.without(ElementEvent.ACTION, first).get(ElementEvent.ACTION));
+    assertNull(chain().without(ElementEvent.ACTION, first).toSet(ElementEvent.ACTION));
+  }
+
+  @Test
+  void removalOfMissingListenerKeepsChain() {
+    ListenerChain chain = chain();
+
+    assertSame(chain, chain.without(ElementEvent.ACTION, second));
+    assertSame(chain, chain.without(ElementEvent.READ_VALUE, first));
+  }
+
+  private ListenerChain chain() {
+    EnumMap<ElementEvent, LinkedHashSet<IElementEventHandler>> listeners =
+        new EnumMap<>(ElementEvent.class);
+    LinkedHashSet<IElementEventHandler> actionListeners = new LinkedHashSet<>();
+    actionListeners.add(first);
+    listeners.put(ElementEvent.ACTION, actionListeners);
+    return ListenerChain.of(listeners);
+  }
+}
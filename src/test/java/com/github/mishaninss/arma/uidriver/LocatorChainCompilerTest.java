@@ -0,0 +1,166 @@
+package com.github.mishaninss.arma.uidriver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.mishaninss.arma.uidriver.LocatorChainCompiler.CompiledLocator;
+import com.github.mishaninss.arma.uidriver.LocatorChainCompiler.CompiledLocator.Kind;
+import com.github.mishaninss.arma.uidriver.interfaces.IFrame;
+import com.github.mishaninss.arma.uidriver.interfaces.ILocatable;
+import org.junit.jupiter.api.Test;
+
+class LocatorChainCompilerTest {
+
+  private final LocatorChainCompiler compiler = new LocatorChainCompiler();
+
+  @Test
+  void singleLocatorIsKept() {
+    CompiledLocator locator = compiler.compile(chain("id=main"));
+
+    assertEquals(Kind.LOCATOR, locator.getKind());
+    assertEquals("id=main", locator.getValue());
+  }
+
+  @Test
+  void relativeXpathChainIsMergedIntoOneXpath() {
+    CompiledLocator locator = compiler.compile(chain("xpath=//div[@id='list']", "xpath=./ul",
+        "xpath=./li[@class='item']"));
+
+    assertEquals(Kind.LOCATOR, locator.getKind());
+    assertEquals("xpath=((//div[@id='list'])[1]/ul)[1]/li[@class='item']", locator.getValue());
+  }
+
+  @Test
+  void idContextsWithCompoundSelectorAreMergedIntoOneCss() {
+    CompiledLocator locator = compiler.compile(chain("id=main", "css=#form", "css=button.primary"));
+
+    assertEquals(Kind.LOCATOR, locator.getKind());
+    assertEquals("css=#main #form button.primary", locator.getValue());
+  }
+
+  @Test
+  void mixedChainIsCompiledIntoScript() {
+    CompiledLocator locator = compiler.compile(chain("css=div.list", "xpath=.//li", "name=title"));
+
+    assertEquals(Kind.SCRIPT, locator.getKind());
+    assertTrue(locator.getValue().startsWith("var steps = [['css','div.list'],['xpath','."),
+        locator.getValue());
+    assertTrue(locator.getValue().contains("['name','title']]"), locator.getValue());
+  }
+
+  @Test
+  void absoluteInnerXpathIsNotMerged() {
+    CompiledLocator locator = compiler.compile(chain("xpath=//div", "xpath=//span"));
+
+    assertEquals(Kind.SCRIPT, locator.getKind());
+  }
+
+  @Test
+  void compiledChainIsCached() {
+    CompiledLocator first = compiler.compile(chain("id=main", "css=button"));
+    CompiledLocator second = compiler.compile(chain("id=main", "css=button"));
+
+    assertSame(first, second);
+  }
+
+  @Test
+  void chainWithFrameIsRejected() {
+    Node frame = new Frame("id=frame");
+    Node element = new Node("css=button");
+    element.setContext(frame);
+
+    assertNull(compiler.compile(element));
+    assertEquals("the chain contains a frame", compiler.getNotCompiled().get("id=frame -> css=button"));
+  }
+
+  @Test
+  void chainWithoutLocatorsIsRejected() {
+    assertNull(compiler.compile(chain(" ")));
+    assertEquals("the chain has no locators", compiler.getNotCompiled().get(""));
+  }
+
+  @Test
+  void templateIsRejected() {
+    assertNull(compiler.compile(chain("id=main", "xpath=.//li[%d]")));
+    assertUnsupported("id=main -> xpath=.//li[%d]");
+  }
+
+  @Test
+  void linkLocatorIsRejected() {
+    assertNull(compiler.compile(chain("id=main", "link=Home")));
+    assertUnsupported("id=main -> link=Home");
+  }
+
+  @Test
+  void locatorWithoutTypeIsRejected() {
+    assertNull(compiler.compile(chain("id=main", "//button")));
+    assertUnsupported("id=main -> //button");
+  }
+
+  private void assertUnsupported(String path) {
+    assertEquals("the chain contains unsupported locators", compiler.getNotCompiled().get(path));
+  }
+
+  /**
+   * Returns the innermost element of a chain of given locators, the outermost locator first
+   */
+  private static ILocatable chain(String... locators) {
+    Node element = null;
+    for (String locator : locators) {
+      Node node = new Node(locator);
+      node.setContext(element);
+      element = node;
+    }
+    return element;
+  }
+
+  private static class Node implements ILocatable {
+
+    private String locator;
+    private ILocatable context;
+    private boolean contextLookup = true;
+
+    private Node(String locator) {
+      this.locator = locator;
+    }
+
+    @Override
+    public String getLocator() {
+      return locator;
+    }
+
+    @Override
+    public void setLocator(String locator) {
+      this.locator = locator;
+    }
+
+    @Override
+    public ILocatable getContext() {
+      return context;
+    }
+
+    @Override
+    public void setContext(ILocatable context) {
+      this.context = context;
+    }
+
+    @Override
+    public void setContextLookup(boolean contextLookup) {
+      this.contextLookup = contextLookup;
+    }
+
+    @Override
+    public boolean useContextLookup() {
+      return contextLookup;
+    }
+  }
+
+  private static class Frame extends Node implements IFrame {
+
+    private Frame(String locator) {
+      super(locator);
+    }
+  }
+}
@@ -0,0 +1,65 @@
+package com.github.mishaninss.arma.uidriver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.mishaninss.arma.uidriver.LocatorType.XpathValidation;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Validation of XPath locators in different modes. Validated locators are cached JVM-wide, so every
+ * test uses its own locators
+ */
+class LocatorTypeTest {
+
+  @Test
+  void invalidXpathIsReportedImmediately() {
+    assertEquals("xpath=//div[", LocatorType.buildXpath("//div["));
+
+    assertTrue(LocatorType.getInvalidXpaths().contains("//div["));
+  }
+
+  @Test
+  void validXpathIsNotReported() {
+    LocatorType.buildXpath("//section[@id='valid']");
+
+    assertFalse(LocatorType.getInvalidXpaths().contains("//section[@id='valid']"));
+  }
+
+  @Test
+  void templateIsValidatedInsteadOfFormattedLocator() {
+    assertEquals("xpath=//li[2]", LocatorType.buildXpath("//li[%d]", 2));
+    assertEquals("xpath=//td[@]", LocatorType.buildXpath("//td[%s]", "@"));
+
+    assertFalse(LocatorType.getInvalidXpaths().contains("//li[%d]"));
+    assertFalse(LocatorType.getInvalidXpaths().contains("//td[%s]"));
+    assertFalse(LocatorType.getInvalidXpaths().contains("//td[@]"));
+  }
+
+  @Test
+  void invalidTemplateIsReported() {
+    LocatorType.buildXpath("//tr[%d", 1);
+
+    assertTrue(LocatorType.getInvalidXpaths().contains("//tr[%d"));
+  }
+
+  @Test
+  void xpathIsNotValidatedIfValidationIsOff() {
+    LocatorType.validateXpath("//span[", XpathValidation.OFF);
+
+    assertFalse(LocatorType.getInvalidXpaths().contains("//span["));
+  }
+
+  @Test
+  void invalidXpathIsReportedInBackground() throws InterruptedException {
+    LocatorType.validateXpath("//p[", XpathValidation.ASYNC);
+
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (!LocatorType.getInvalidXpaths().contains("//p[") && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    assertTrue(LocatorType.getInvalidXpaths().contains("//p["));
+  }
+}